@@ -0,0 +1,50 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.auth.ApiKeyRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 하나의 API 키 확인 비용. 캐시된 키(valid)와 캐시된 없는 키(unknown) 모두 SHA-256 + 캐시 조회 + 상수 시간 비교만 한다.
+ * hash 는 그중 SHA-256 만의 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiKeyBenchmark {
+
+    private static final String KEY = "0f6c5b1e-9a9f-4c1e-8d1c-5a7c2f3b9e41";
+    private static final String UNKNOWN = "0f6c5b1e-9a9f-4c1e-8d1c-5a7c2f3b9e42";
+
+    private ApiKeyRegistry registry;
+
+    @Setup
+    public void setUp() {
+        String hash = ApiKeyRegistry.toHex(ApiKeyRegistry.hash(KEY));
+        registry = new ApiKeyRegistry(keyHash -> ApiKeyRegistry.toHex(keyHash).equals(hash) ? Optional.of("benchmark") : Optional.empty(),
+                Duration.ofMinutes(5), Duration.ofMinutes(5), 10_000);
+        registry.authenticate(KEY);
+        registry.authenticate(UNKNOWN);
+    }
+
+    @Benchmark
+    public Optional<String> valid() {
+        return registry.authenticate(KEY);
+    }
+
+    @Benchmark
+    public Optional<String> unknown() {
+        return registry.authenticate(UNKNOWN);
+    }
+
+    @Benchmark
+    public byte[] hash() {
+        return ApiKeyRegistry.hash(KEY);
+    }
+}
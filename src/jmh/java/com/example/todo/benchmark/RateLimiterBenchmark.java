@@ -0,0 +1,51 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.ratelimit.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 64 스레드가 동시에 요청 한도를 확인하는 처리량. clients=1 은 모든 스레드가 버킷 하나를 두고 CAS 를 다투는 최악의 경우이고,
+ * clients=64 는 스레드마다 자기 버킷을 쓰는 경우다. rate 가 크면 매번 허용(CAS 로 상태 변경), 1 이면 거의 매번 거절(읽기만)한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "64"})
+    private int clients;
+
+    @Param({"1", "1000000"})
+    private long rate;
+
+    private RateLimiter limiter;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        limiter = new RateLimiter(rate, 10_000, Duration.ofMinutes(10), 100_000);
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private String key;
+
+        @Setup
+        public void setUp(RateLimiterBenchmark benchmark) {
+            key = "client-" + benchmark.threadIds.getAndIncrement() % benchmark.clients;
+        }
+    }
+
+    @Benchmark
+    public long lockFree(Client client) {
+        return limiter.tryAcquire(client.key);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.TodoApplication;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.store.TodoStore;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 스프링 컨텍스트. 웹 서버 없이 인메모리 H2 로 띄우고 todo 를 rows 건 미리 넣어둔다.
+ * store 가 memory 이면 DB 없이 memory 프로필로 띄우고 저장소에 직접 넣는다.
+ */
+final class TodoBenchmarkContext {
+
+    /** Todo 의 todo_seq allocationSize */
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private TodoBenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database, int rows) {
+        return start(database, rows, "jpa");
+    }
+
+    static ConfigurableApplicationContext start(String database, int rows, String store) {
+        if ("memory".equals(store)) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.profiles.active=memory", "--logging.level.root=warn");
+            seed(context.getBean(TodoStore.class), rows);
+            return context;
+        }
+        // 커맨드라인 인자로 넘겨야 application.yml 의 파일 DB 설정보다 우선한다.
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "--logging.level.root=warn",
+                        "--logging.level.org.hibernate.SQL=warn");
+        seed(context.getBean(JdbcTemplate.class), rows);
+        return context;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        // 생성일 범위 조회를 잴 수 있도록 id 순서대로 1초씩 간격을 두고, 마지막 행이 현재 시각이 되게 한다.
+        jdbcTemplate.update("insert into todo (id, name, completed, completed_at, created_at, updated_at, version) "
+                + "select x, 'todo ' || x, mod(x, 2) = 0, case when mod(x, 2) = 0 then localtimestamp end, "
+                + "dateadd('SECOND', x - ?, localtimestamp), localtimestamp, 0 from system_range(1, ?)", rows, rows);
+        // pooled 옵티마이저는 시퀀스 값을 할당 블록의 끝으로 쓰므로 블록 하나만큼 띄워야 시드와 겹치지 않는다.
+        jdbcTemplate.execute("alter sequence todo_seq restart with " + (rows + ID_ALLOCATION_SIZE));
+    }
+
+    private static void seed(TodoStore store, int rows) {
+        List<TodoRequest> requests = new ArrayList<>(1000);
+        for (int i = 1; i <= rows; i++) {
+            requests.add(new TodoRequest("todo " + i, i % 2 == 0));
+            if (requests.size() == 1000 || i == rows) {
+                store.createAll(requests);
+                requests.clear();
+            }
+        }
+    }
+}
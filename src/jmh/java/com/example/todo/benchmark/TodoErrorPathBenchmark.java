@@ -0,0 +1,91 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.dto.TodoDto;
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.ErrorResponse;
+import com.example.todo.response.ErrorResponseBodies;
+import com.example.todo.response.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 404 응답 비용. 요청 처리 스택 깊이(depth)에서 예외를 던져 맨 위에서 받고 본문을 만든다.
+ * legacy 는 스택 트레이스를 채우는 예외 + 응답마다 ErrorResponse 직렬화, cached 는 스택 없는 BusinessException + 미리 만든 본문이다.
+ * ok 는 비교용으로, 캐시에서 꺼낸 TodoDto 를 직렬화하는 200 응답 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoErrorPathBenchmark {
+
+    // 톰캣 + 필터 + DispatcherServlet + AOP 프록시를 거친 컨트롤러의 대략적인 스택 깊이
+    @Param({"120"})
+    private int depth;
+
+    private ObjectMapper objectMapper;
+    private ErrorResponseBodies bodies;
+    private TodoDto todo;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        bodies = new ErrorResponseBodies(objectMapper);
+        LocalDateTime now = LocalDateTime.now();
+        todo = TodoDto.builder()
+                .id(1L)
+                .name("benchmark todo")
+                .completed(false)
+                .createdAt(now)
+                .updatedAt(now)
+                .version(0L)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] legacy() throws Exception {
+        try {
+            throwAt(depth, false);
+            return null;
+        } catch (RuntimeException e) {
+            return objectMapper.writeValueAsBytes(new ErrorResponse(ErrorCode.NOT_FOUND));
+        }
+    }
+
+    @Benchmark
+    public byte[] cached() {
+        try {
+            throwAt(depth, true);
+            return null;
+        } catch (BusinessException e) {
+            return bodies.bodyOf(e.getErrorCode());
+        }
+    }
+
+    @Benchmark
+    public byte[] ok() throws Exception {
+        return objectMapper.writeValueAsBytes(todo);
+    }
+
+    private static void throwAt(int depth, boolean stackless) {
+        if (depth > 0) {
+            throwAt(depth - 1, stackless);
+            return;
+        }
+        if (stackless) {
+            throw new BusinessException(ErrorCode.NOT_FOUND);
+        }
+        throw new IllegalStateException(ErrorCode.NOT_FOUND.getMessage());
+    }
+}
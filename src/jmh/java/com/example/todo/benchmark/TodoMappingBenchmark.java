@@ -0,0 +1,56 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.dto.TodoDto;
+import com.example.todo.dto.TodoListDto;
+import com.example.todo.entity.Todo;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 -> DTO 변환 비용. 목록 변환의 baseUrl + id 문자열 결합도 함께 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoMappingBenchmark {
+
+    private static final String BASE_URL = "http://localhost:8080/todos/";
+
+    private Todo todo;
+    private String url;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        todo = Todo.builder()
+                .id(123456L)
+                .name("benchmark todo")
+                .completed(true)
+                .completedAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .version(3L)
+                .build();
+        url = BASE_URL + todo.getId();
+    }
+
+    @Benchmark
+    public TodoDto todoDtoFrom() {
+        return TodoDto.from(todo);
+    }
+
+    @Benchmark
+    public TodoListDto todoListDtoOf() {
+        return TodoListDto.of(todo, url);
+    }
+
+    @Benchmark
+    public TodoListDto todoListDtoOfWithUrl() {
+        return TodoListDto.of(todo, BASE_URL + todo.getId());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.dto.TodoListDto;
+import com.example.todo.dto.TodoSummary;
+import com.example.todo.dto.TodoUrl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 페이지 직렬화 비용. 애플리케이션과 같은 SNAKE_CASE 설정의 ObjectMapper 를 사용한다.
+ * url 은 항목마다 문자열을 만드는 방식(concat), TodoUrl 직렬화(serializer), 템플릿(template)을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoSerializationBenchmark {
+
+    private static final String BASE_URL = "http://localhost:8080/todos/";
+
+    @Param({"10", "100", "10000"})
+    private int pageSize;
+
+    @Param({"concat", "serializer", "template"})
+    private String url;
+
+    private ObjectMapper objectMapper;
+    private TodoUrl.Base todoUrl;
+    private List<TodoSummary> summaries;
+    private List<TodoListDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        todoUrl = TodoUrl.base(BASE_URL);
+        LocalDateTime now = LocalDateTime.now();
+        summaries = new ArrayList<>(pageSize);
+        for (long id = pageSize; id > 0; id--) {
+            summaries.add(new TodoSummary(id, "todo " + id, id % 2 == 0, id % 2 == 0 ? now : null));
+        }
+        page = toPage();
+    }
+
+    @Benchmark
+    public void serializePage() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+
+    /** 서비스에서 DTO 를 만드는 비용(url 문자열 생성 포함)까지 함께 잰다. */
+    @Benchmark
+    public void mapAndSerializePage() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), toPage());
+    }
+
+    private List<TodoListDto> toPage() {
+        List<TodoListDto> dtos = new ArrayList<>(summaries.size());
+        for (TodoSummary summary : summaries) {
+            dtos.add(TodoListDto.of(summary, urlOf(summary.getId())));
+        }
+        return dtos;
+    }
+
+    private CharSequence urlOf(long id) {
+        switch (url) {
+            case "concat":
+                return BASE_URL + id;
+            case "serializer":
+                return todoUrl.of(id);
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.dto.TodoCursor;
+import com.example.todo.dto.TodoCursorPageDto;
+import com.example.todo.dto.TodoListDto;
+import com.example.todo.dto.TodoListFilter;
+import com.example.todo.dto.TodoSort;
+import com.example.todo.dto.TodoUrlMode;
+import com.example.todo.entity.Todo;
+import com.example.todo.service.TodoService;
+import com.example.todo.store.TodoStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * rows 건을 넣어두고 목록 조회 비용을 잰다. 첫 페이지, 깊은 페이지(offset), 같은 위치의 커서 조회를 비교한다.
+ * store 로 저장소(jpa: H2, memory: InMemoryTodoStore)를 고르고, findById 는 캐시를 거치지 않은 단건 조회이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoServiceBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"10", "1000"})
+    private int limit;
+
+    @Param({"jpa", "memory"})
+    private String store;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private TodoStore todoStore;
+    private int deepSkip;
+    private String deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = TodoBenchmarkContext.start("service", rows, store);
+        todoService = context.getBean(TodoService.class);
+        todoStore = context.getBean(TodoStore.class);
+        deepSkip = rows / limit - 1;
+        deepCursor = TodoCursor.encode((long) limit + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Todo> findById() {
+        return todoStore.findById((long) rows / 2);
+    }
+
+    @Benchmark
+    public List<TodoListDto> firstPage() {
+        return todoService.getTodos(TodoListFilter.none(), TodoSort.ID_DESC, 0, limit, TodoUrlMode.INLINE);
+    }
+
+    @Benchmark
+    public List<TodoListDto> deepPage() {
+        return todoService.getTodos(TodoListFilter.none(), TodoSort.ID_DESC, deepSkip, limit, TodoUrlMode.INLINE);
+    }
+
+    @Benchmark
+    public TodoCursorPageDto deepPageByCursor() {
+        return todoService.getTodos(deepCursor, limit, TodoUrlMode.INLINE);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.entity.Todo;
+import com.example.todo.store.InMemoryTodoStore;
+import com.example.todo.store.wal.FsyncPolicy;
+import com.example.todo.store.wal.TodoWriteAheadLog;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WAL 을 켠 메모리 저장소의 생성 처리량. fsync 정책별로 여러 스레드의 쓰기가 한 번의 fsync 로 묶이는 효과를 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class TodoWalBenchmark {
+
+    @Param({"always", "interval", "none"})
+    private String fsync;
+
+    private Path directory;
+    private TodoWriteAheadLog wal;
+    private InMemoryTodoStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("todo-wal-benchmark");
+        wal = new TodoWriteAheadLog(directory, FsyncPolicy.valueOf(fsync.toUpperCase()), 64L << 20,
+                Duration.ofMillis(100), Duration.ZERO);
+        store = new InMemoryTodoStore(wal);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        wal.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Todo create() {
+        return store.create(new TodoRequest("todo", false));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.store.InMemoryTodoStore;
+import com.example.todo.store.wal.FsyncPolicy;
+import com.example.todo.store.wal.TodoWriteAheadLog;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * operations 건(생성 6 : 수정 3 : 삭제 1)을 기록한 뒤 재시작해 메모리 저장소를 복구하는 시간.
+ * snapshot 이 true 이면 90% 지점에서 스냅샷을 떠 두고 나머지 10% 만 다시 적용한다.
+ * 복구는 다시 적용한 기록이 있으면 스냅샷을 새로 뜨므로 매 반복마다 기록해 둔 디렉터리를 복사해서 연다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class TodoWalRecoveryBenchmark {
+
+    private static final long SEGMENT_SIZE = 64L << 20;
+
+    @Param({"10000000"})
+    private int operations;
+
+    @Param({"false", "true"})
+    private boolean snapshot;
+
+    private Path recorded;
+    private Path directory;
+    private TodoWriteAheadLog wal;
+
+    @Setup(Level.Trial)
+    public void record() throws IOException {
+        recorded = Files.createTempDirectory("todo-wal-recorded");
+        try (TodoWriteAheadLog log = open(recorded)) {
+            InMemoryTodoStore store = new InMemoryTodoStore(log);
+            long created = 0;
+            long deleted = 0;
+            for (int i = 0; i < operations; i++) {
+                if (snapshot && i == operations / 10 * 9) {
+                    log.checkpoint();
+                }
+                int kind = i % 10;
+                if (kind < 6 || created == 0) {
+                    created = store.create(new TodoRequest("todo " + i, false)).getId();
+                } else if (kind < 9) {
+                    // 지우지 않은 최근 todo 중 하나를 고친다.
+                    store.update(Math.max(created - i % 7, deleted + 1), new TodoRequest("todo " + i, true));
+                } else if (deleted + 1 < created) {
+                    // 오래된 것부터 지운다.
+                    store.deleteById(++deleted);
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void copy() throws IOException {
+        directory = Files.createTempDirectory("todo-wal-recovery");
+        FileSystemUtils.copyRecursively(recorded, directory);
+    }
+
+    @TearDown(Level.Iteration)
+    public void delete() throws IOException {
+        wal.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(recorded);
+    }
+
+    @Benchmark
+    public InMemoryTodoStore recover() {
+        wal = open(directory);
+        return new InMemoryTodoStore(wal);
+    }
+
+    private static TodoWriteAheadLog open(Path directory) {
+        return new TodoWriteAheadLog(directory, FsyncPolicy.NONE, SEGMENT_SIZE, Duration.ofMillis(100), Duration.ZERO);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.todo.benchmark;
+
+import com.example.todo.dto.TodoDto;
+import com.example.todo.dto.TodoPatchRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.service.TodoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 완료 여부 토글 비용 비교. PUT 경로(조회 후 전체 컬럼 수정)와 PATCH 경로(조회 없는 좁은 UPDATE)를 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoWriteBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private TodoPatchRequest complete;
+    private TodoPatchRequest reopen;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = TodoBenchmarkContext.start("write", rows);
+        todoService = context.getBean(TodoService.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        complete = TodoPatchRequest.from(objectMapper.readTree("{\"completed\":true}"));
+        reopen = TodoPatchRequest.from(objectMapper.readTree("{\"completed\":false}"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TodoDto toggleByPut() {
+        long id = nextId();
+        return todoService.updateTodo(id, new TodoRequest("todo " + id, id % 2 != 0));
+    }
+
+    @Benchmark
+    public TodoDto toggleByPatch() {
+        long id = nextId();
+        return todoService.patchTodo(id, id % 2 != 0 ? complete : reopen, null);
+    }
+
+    private long nextId() {
+        sequence = sequence % rows + 1;
+        return sequence;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.todo.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 부하 테스트 설정. gradle 에서 -Pload.xxx 로 넘긴 값을 시스템 프로퍼티로 읽는다.
+ */
+final class LoadTestConfig {
+
+    private static final String APP_PREFIX = "load.app.";
+
+    /** 대상 서버 주소. 없으면 내장 서버를 띄운다. */
+    final String target;
+    final int rps;
+    final int warmupSeconds;
+    final int durationSeconds;
+    /** 미리 넣어둘 todo 수. 외부 서버라면 1..seedRows 가 존재한다고 가정한다. */
+    final int seedRows;
+    final int maxInFlight;
+    final Map<TodoOperation, Integer> mix;
+    final Path report;
+    final Double maxP99Ms;
+    final Double maxP999Ms;
+    final Double minThroughput;
+    final double maxErrorRate;
+    final Path baseline;
+    final double tolerance;
+    /** 내장 서버에 그대로 넘길 스프링 프로퍼티 (load.app. 접두어 제거) */
+    final Map<String, String> appProperties;
+
+    private LoadTestConfig(Properties properties) {
+        this.target = properties.getProperty("load.target");
+        this.rps = Integer.parseInt(properties.getProperty("load.rps", "200"));
+        this.warmupSeconds = Integer.parseInt(properties.getProperty("load.warmup", "10"));
+        this.durationSeconds = Integer.parseInt(properties.getProperty("load.duration", "30"));
+        this.seedRows = Integer.parseInt(properties.getProperty("load.seedRows", "10000"));
+        this.maxInFlight = Integer.parseInt(properties.getProperty("load.maxInFlight", "1000"));
+        this.mix = parseMix(properties.getProperty("load.mix", "get=60,list=15,post=10,put=10,delete=5"));
+        this.report = Paths.get(properties.getProperty("load.report", "build/reports/loadtest/report.json"));
+        this.maxP99Ms = optionalDouble(properties, "load.threshold.p99Ms");
+        this.maxP999Ms = optionalDouble(properties, "load.threshold.p999Ms");
+        this.minThroughput = optionalDouble(properties, "load.threshold.minThroughput");
+        this.maxErrorRate = Double.parseDouble(properties.getProperty("load.threshold.maxErrorRate", "0.01"));
+        String baselinePath = properties.getProperty("load.baseline");
+        this.baseline = baselinePath == null ? null : Paths.get(baselinePath);
+        this.tolerance = Double.parseDouble(properties.getProperty("load.tolerance", "10"));
+        this.appProperties = new LinkedHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(APP_PREFIX)) {
+                appProperties.put(name.substring(APP_PREFIX.length()), properties.getProperty(name));
+            }
+        }
+        if (rps <= 0 || durationSeconds <= 0 || maxInFlight <= 0 || seedRows <= 0) {
+            throw new IllegalArgumentException("load.rps, load.duration, load.maxInFlight, load.seedRows must be positive");
+        }
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(System.getProperties());
+    }
+
+    private static Double optionalDouble(Properties properties, String name) {
+        String value = properties.getProperty(name);
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    // "get=60,list=15,post=10" -> 비율. 빠진 종류는 0
+    private static Map<TodoOperation, Integer> parseMix(String value) {
+        Map<TodoOperation, Integer> mix = new EnumMap<>(TodoOperation.class);
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("load.mix 형식이 잘못되었습니다: " + value);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("load.mix 비율은 음수일 수 없습니다: " + value);
+            }
+            mix.put(TodoOperation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("load.mix 비율의 합이 0 입니다: " + value);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.todo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 측정 결과를 JSON 리포트(와 전체 분포 .hgrm)로 쓰고 임계값/기준 결과와 비교한다. 지연 시간은 ms 단위로 쓴다.
+ */
+final class LoadTestReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadTestConfig config;
+    private final OpenModelLoadGenerator.Result result;
+
+    LoadTestReport(LoadTestConfig config, OpenModelLoadGenerator.Result result) {
+        this.config = config;
+        this.result = result;
+    }
+
+    void write() throws IOException {
+        Path report = config.report.toAbsolutePath();
+        Files.createDirectories(report.getParent());
+        MAPPER.writeValue(report.toFile(), toMap());
+        Path distribution = report.resolveSibling(report.getFileName().toString().replaceFirst("\\.json$", "") + ".hgrm");
+        try (PrintStream out = new PrintStream(Files.newOutputStream(distribution))) {
+            result.total().outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("target_rps", config.rps);
+        root.put("duration_seconds", config.durationSeconds);
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix.forEach((operation, weight) -> mix.put(name(operation), weight));
+        root.put("mix", mix);
+        root.put("requests", result.requests());
+        root.put("errors", result.errorCount());
+        root.put("dropped", result.dropped);
+        root.put("error_rate", errorRate());
+        root.put("throughput", result.throughput());
+        root.put("latency_ms", latency(result.total()));
+        Map<String, Object> operations = new LinkedHashMap<>();
+        result.histograms.forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() == 0 && result.errors.get(operation) == 0) {
+                return;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", histogram.getTotalCount());
+            entry.put("errors", result.errors.get(operation));
+            entry.put("latency_ms", latency(histogram));
+            operations.put(name(operation), entry);
+        });
+        root.put("operations", operations);
+        return root;
+    }
+
+    /**
+     * 임계값과 기준 리포트를 넘은 항목들. 비어 있으면 통과.
+     */
+    List<String> violations() throws IOException {
+        List<String> violations = new ArrayList<>();
+        Histogram total = result.total();
+        double p99 = millis(total.getValueAtPercentile(99));
+        double p999 = millis(total.getValueAtPercentile(99.9));
+        if (errorRate() > config.maxErrorRate) {
+            violations.add(String.format("error rate %.4f > %.4f", errorRate(), config.maxErrorRate));
+        }
+        if (config.maxP99Ms != null && p99 > config.maxP99Ms) {
+            violations.add(String.format("p99 %.3fms > %.3fms", p99, config.maxP99Ms));
+        }
+        if (config.maxP999Ms != null && p999 > config.maxP999Ms) {
+            violations.add(String.format("p99.9 %.3fms > %.3fms", p999, config.maxP999Ms));
+        }
+        if (config.minThroughput != null && result.throughput() < config.minThroughput) {
+            violations.add(String.format("throughput %.1f/s < %.1f/s", result.throughput(), config.minThroughput));
+        }
+        if (config.baseline != null) {
+            JsonNode baseline = MAPPER.readTree(config.baseline.toFile());
+            double factor = 1 + config.tolerance / 100;
+            double baseP99 = baseline.path("latency_ms").path("p99").asDouble();
+            double baseThroughput = baseline.path("throughput").asDouble();
+            if (baseP99 > 0 && p99 > baseP99 * factor) {
+                violations.add(String.format("p99 %.3fms regressed from baseline %.3fms", p99, baseP99));
+            }
+            if (result.throughput() * factor < baseThroughput) {
+                violations.add(String.format("throughput %.1f/s regressed from baseline %.1f/s", result.throughput(), baseThroughput));
+            }
+        }
+        return violations;
+    }
+
+    private double errorRate() {
+        long requests = result.requests();
+        return requests == 0 ? 0 : (double) result.errorCount() / requests;
+    }
+
+    private static Map<String, Object> latency(Histogram histogram) {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p99_9", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+        latency.put("mean", histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / MICROS_PER_MILLI);
+        return latency;
+    }
+
+    private static String name(TodoOperation operation) {
+        return operation.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
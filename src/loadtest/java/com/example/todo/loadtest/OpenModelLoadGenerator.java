@@ -0,0 +1,128 @@
+package com.example.todo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 열린 모델(open model) 부하 발생기.
+ * 응답을 기다리지 않고 정해진 간격(1/rps)마다 요청을 보내며, 지연 시간은 실제 전송 시각이 아니라
+ * 보내기로 예정된 시각부터 잰다. 서버가 밀려 발생기가 늦어진 시간까지 포함되므로
+ * coordinated omission 으로 꼬리 지연이 작게 보이는 일을 막는다.
+ */
+final class OpenModelLoadGenerator {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final HttpClient client;
+    private final TodoTraffic traffic;
+    private final int rps;
+    private final int maxInFlight;
+
+    OpenModelLoadGenerator(HttpClient client, TodoTraffic traffic, int rps, int maxInFlight) {
+        this.client = client;
+        this.traffic = traffic;
+        this.rps = rps;
+        this.maxInFlight = maxInFlight;
+    }
+
+    Result run(int seconds) throws InterruptedException {
+        Map<TodoOperation, Recorder> recorders = new EnumMap<>(TodoOperation.class);
+        Map<TodoOperation, AtomicLong> errors = new EnumMap<>(TodoOperation.class);
+        for (TodoOperation operation : TodoOperation.values()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new AtomicLong());
+        }
+        AtomicLong dropped = new AtomicLong();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long interval = NANOS_PER_SECOND / rps;
+        long start = System.nanoTime();
+        long end = start + seconds * NANOS_PER_SECOND;
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            TodoOperation operation = traffic.next();
+            // 서버가 완전히 멈춰도 발생기 메모리가 끝없이 늘지 않도록 동시 요청 수를 제한하고, 넘치면 실패로 센다.
+            if (!inFlight.tryAcquire()) {
+                dropped.incrementAndGet();
+                errors.get(operation).incrementAndGet();
+                continue;
+            }
+            client.sendAsync(traffic.request(operation), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        try {
+                            recorders.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+                            if (failure != null || response.statusCode() >= 400) {
+                                errors.get(operation).incrementAndGet();
+                            } else {
+                                traffic.onResponse(operation, response);
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+        }
+        if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("응답을 " + DRAIN_TIMEOUT_SECONDS + "초 안에 모두 받지 못했습니다");
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<TodoOperation, Histogram> histograms = new EnumMap<>(TodoOperation.class);
+        Map<TodoOperation, Long> errorCounts = new EnumMap<>(TodoOperation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        errors.forEach((operation, count) -> errorCounts.put(operation, count.get()));
+        return new Result(histograms, errorCounts, dropped.get(), elapsed);
+    }
+
+    /**
+     * 한 구간의 측정 결과. 지연 시간 단위는 마이크로초.
+     */
+    static final class Result {
+
+        final Map<TodoOperation, Histogram> histograms;
+        final Map<TodoOperation, Long> errors;
+        final long dropped;
+        final long elapsedNanos;
+
+        Result(Map<TodoOperation, Histogram> histograms, Map<TodoOperation, Long> errors, long dropped, long elapsedNanos) {
+            this.histograms = histograms;
+            this.errors = errors;
+            this.dropped = dropped;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        Histogram total() {
+            Histogram total = new Histogram(3);
+            histograms.values().forEach(total::add);
+            return total;
+        }
+
+        long requests() {
+            return total().getTotalCount() + dropped;
+        }
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        double throughput() {
+            return total().getTotalCount() * (double) NANOS_PER_SECOND / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.todo.loadtest;
+
+import com.example.todo.service.SingleFlight;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.SpringApplication;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 몰려드는 같은 조회(thundering herd)에서 single-flight 가 줄이는 DB 조회 수. ./gradlew herdLoadTest 로 실행한다.
+ * todo.single-flight.enabled 를 켜고 끈 내장 서버에 load.herd.clients 개의 같은 요청(인기 todo 단건 / 첫 목록 페이지)을
+ * load.herd.rounds 번 한꺼번에 보내고 실행된 SQL 문 수와 지연을 비교한다.
+ * 캐시가 비었거나 막 무효화된 순간을 재현하려고 단건 캐시와 Hibernate 2차 캐시는 끈다. (load.herd.caches=true 이면 켠다)
+ */
+public final class TodoHerdLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final String[] PATHS = {"/todos/1", "/todos?skip=0&limit=20"};
+
+    private TodoHerdLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("load.herd.clients", 200);
+        int rounds = Integer.getInteger("load.herd.rounds", 20);
+        int seedRows = Integer.getInteger("load.seedRows", 10000);
+        boolean caches = Boolean.getBoolean("load.herd.caches");
+        Path report = Paths.get(System.getProperty("load.report", "build/reports/loadtest/herd.json"));
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (boolean singleFlight : new boolean[]{false, true}) {
+            Map<String, String> properties = new LinkedHashMap<>();
+            properties.put("todo.single-flight.enabled", String.valueOf(singleFlight));
+            if (!caches) {
+                properties.put("spring.cache.type", "none");
+                properties.put("spring.jpa.properties.hibernate.cache.use_second_level_cache", "false");
+                properties.put("spring.jpa.properties.hibernate.cache.use_query_cache", "false");
+            }
+            ConfigurableApplicationContext context = TodoLoadTest.start(seedRows, properties);
+            try {
+                results.put(singleFlight ? "single_flight" : "baseline", run(context, clients, rounds));
+            } finally {
+                SpringApplication.exit(context);
+            }
+        }
+
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        MAPPER.writeValue(report.toFile(), results);
+        System.out.println(MAPPER.writeValueAsString(results));
+        System.out.println("report: " + report.toAbsolutePath());
+    }
+
+    private static Map<String, Object> run(ConfigurableApplicationContext context, int clients, int rounds) throws Exception {
+        URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        SessionFactory sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Map<String, Object> result = new LinkedHashMap<>();
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+            // 연결과 JIT 를 데운다.
+            herd(client, baseUri.resolve(PATHS[0]), clients);
+            herd(client, baseUri.resolve(PATHS[1]), clients);
+
+            for (String path : PATHS) {
+                Histogram latency = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+                long errors = 0;
+                double leadersBefore = count(meterRegistry, "leader");
+                double followersBefore = count(meterRegistry, "follower");
+                long statementsBefore = statistics.getPrepareStatementCount();
+                for (int round = 0; round < rounds; round++) {
+                    // 캐시를 켰으면 라운드마다 비운다.
+                    cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+                    sessionFactory.getCache().evictAllRegions();
+                    errors += herd(client, baseUri.resolve(path), clients, latency);
+                }
+                long statements = statistics.getPrepareStatementCount() - statementsBefore;
+                double leaders = count(meterRegistry, "leader") - leadersBefore;
+                double followers = count(meterRegistry, "follower") - followersBefore;
+
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("requests", (long) clients * rounds);
+                entry.put("errors", errors);
+                entry.put("statements", statements);
+                entry.put("statements_per_round", (double) statements / rounds);
+                entry.put("coalescing_ratio", leaders + followers == 0 ? 0.0 : followers / (leaders + followers));
+                entry.put("p50_ms", latency.getValueAtPercentile(50) / 1000.0);
+                entry.put("p99_ms", latency.getValueAtPercentile(99) / 1000.0);
+                result.put(path, entry);
+                System.out.printf(Locale.ROOT, "%-24s statements/round %8.1f  coalesced %5.1f%%  p99 %8.2f ms%n",
+                        path, (double) statements / rounds, 100 * (double) entry.get("coalescing_ratio"),
+                        latency.getValueAtPercentile(99) / 1000.0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    private static void herd(HttpClient client, URI uri, int clients) {
+        herd(client, uri, clients, new Histogram(TimeUnit.MINUTES.toMicros(1), 3));
+    }
+
+    /**
+     * 같은 요청 clients 개를 기다리지 않고 한꺼번에 보낸다. 실패한 요청 수를 돌려준다.
+     */
+    private static long herd(HttpClient client, URI uri, int clients, Histogram latency) {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        List<CompletableFuture<Boolean>> responses = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            long start = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        synchronized (latency) {
+                            latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                                    latency.getHighestTrackableValue()));
+                        }
+                        return error == null && response.statusCode() == 200;
+                    }));
+        }
+        return responses.stream().filter(response -> !response.join()).count();
+    }
+
+    private static double count(MeterRegistry meterRegistry, String result) {
+        return meterRegistry.find(SingleFlight.METRIC_NAME).tag("result", result).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.todo.loadtest;
+
+import com.example.todo.TodoApplication;
+import com.example.todo.auth.ApiKeyRegistry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 부하 테스트 진입점. ./gradlew loadTest 로 실행한다.
+ * load.target 이 없으면 TodoApplication 을 임의 포트와 인메모리 H2 로 띄우고 load.seedRows 건을 넣은 뒤,
+ * 워밍업 구간을 버리고 측정 구간의 결과만 리포트로 남긴다. 임계값을 넘으면 종료 코드 1 로 빌드를 실패시킨다.
+ */
+public final class TodoLoadTest {
+
+    /** Todo 의 todo_seq allocationSize */
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final int CLIENT_THREADS = 4;
+
+    private TodoLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext context = config.target == null ? start(config) : null;
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        int exitCode;
+        try {
+            URI baseUri = URI.create(context == null ? config.target
+                    : "http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client,
+                    new TodoTraffic(baseUri, config.seedRows, config.mix), config.rps, config.maxInFlight);
+
+            System.out.printf("load test: %s, %d rps, warmup %ds, measure %ds, mix %s%n",
+                    baseUri, config.rps, config.warmupSeconds, config.durationSeconds, config.mix);
+            if (config.warmupSeconds > 0) {
+                generator.run(config.warmupSeconds);
+            }
+            LoadTestReport report = new LoadTestReport(config, generator.run(config.durationSeconds));
+            report.write();
+            System.out.println(new com.fasterxml.jackson.databind.ObjectMapper()
+                    .writerWithDefaultPrettyPrinter().writeValueAsString(report.toMap()));
+            System.out.println("report: " + config.report.toAbsolutePath());
+
+            List<String> violations = report.violations();
+            violations.forEach(violation -> System.err.println("FAILED: " + violation));
+            exitCode = violations.isEmpty() ? 0 : 1;
+        } finally {
+            executor.shutdownNow();
+            if (context != null) {
+                SpringApplication.exit(context);
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestConfig config) {
+        return start(config.seedRows, config.appProperties);
+    }
+
+    /**
+     * 임의 포트와 인메모리 H2 로 띄우고 rows 건을 넣는다. appProperties 는 기본값 뒤에 넣어 덮어쓸 수 있다.
+     */
+    static ConfigurableApplicationContext start(int rows, Map<String, String> appProperties) {
+        // 커맨드라인 인자로 넘겨야 application.yml 의 파일 DB 설정보다 우선한다.
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                // 서버 처리량을 재므로 클라이언트 하나에 걸리는 요청 한도는 끈다.
+                "--todo.rate-limit.enabled=false",
+                "--logging.level.root=warn",
+                "--logging.level.org.hibernate.SQL=warn"));
+        // load.app.xxx=yyy 는 뒤에 넣어 위 기본값을 덮어쓸 수 있게 한다.
+        appProperties.forEach((name, value) -> args.add("--" + name + "=" + value));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoApplication.class)
+                .run(args.toArray(new String[0]));
+        seed(context.getBean(JdbcTemplate.class), rows);
+        return context;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        jdbcTemplate.update("insert into todo (id, name, completed, completed_at, created_at, updated_at, version) "
+                + "select x, 'todo ' || x, mod(x, 2) = 0, case when mod(x, 2) = 0 then localtimestamp end, "
+                + "localtimestamp, localtimestamp, 0 from system_range(1, ?)", rows);
+        // pooled 옵티마이저는 시퀀스 값을 할당 블록의 끝으로 쓰므로 블록 하나만큼 띄워야 시드와 겹치지 않는다.
+        jdbcTemplate.execute("alter sequence todo_seq restart with " + (rows + ID_ALLOCATION_SIZE));
+        jdbcTemplate.update("insert into api_key (name, key_hash) values ('loadtest', ?)",
+                ApiKeyRegistry.toHex(ApiKeyRegistry.hash(TodoTraffic.API_KEY)));
+    }
+}
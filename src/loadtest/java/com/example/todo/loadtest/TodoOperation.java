@@ -0,0 +1,8 @@
+package com.example.todo.loadtest;
+
+/**
+ * 부하 테스트가 섞어서 보내는 요청 종류.
+ */
+enum TodoOperation {
+    GET, LIST, POST, PUT, DELETE
+}
@@ -0,0 +1,92 @@
+package com.example.todo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 설정된 비율대로 요청을 만든다. next()/request() 는 발생기 스레드에서만, onResponse() 는 응답 스레드에서 호출된다.
+ * GET/PUT 은 미리 넣어둔 todo 를, DELETE 는 부하 중 POST 로 만든 todo 를 대상으로 해서
+ * 조회 대상이 지워져 404 가 나는 일이 없도록 한다.
+ */
+final class TodoTraffic {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    // 내장 서버는 시작할 때 이 키를 등록한다. 외부 서버(load.target)에는 미리 등록해 두어야 한다.
+    static final String API_KEY = "loadtest";
+    private static final int LIST_LIMIT = 20;
+    private static final int LIST_MAX_SKIP = 100;
+
+    private final URI baseUri;
+    private final int seedRows;
+    private final TodoOperation[] table;
+    private final Queue<Long> created = new ConcurrentLinkedQueue<>();
+
+    TodoTraffic(URI baseUri, int seedRows, Map<TodoOperation, Integer> mix) {
+        this.baseUri = baseUri;
+        this.seedRows = seedRows;
+        this.table = mix.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(TodoOperation[]::new);
+    }
+
+    TodoOperation next() {
+        TodoOperation operation = table[ThreadLocalRandom.current().nextInt(table.length)];
+        // 지울 게 아직 없으면 만든다.
+        return operation == TodoOperation.DELETE && created.isEmpty() ? TodoOperation.POST : operation;
+    }
+
+    HttpRequest request(TodoOperation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case GET:
+                return builder("/todos/" + seededId(random)).GET().build();
+            case LIST:
+                return builder("/todos?skip=" + random.nextInt(LIST_MAX_SKIP) + "&limit=" + LIST_LIMIT).GET().build();
+            case POST:
+                return builder("/todos")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"load " + random.nextInt() + "\"}"))
+                        .build();
+            case PUT:
+                return builder("/todos/" + seededId(random))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                "{\"name\":\"load " + random.nextInt() + "\",\"completed\":" + random.nextBoolean() + "}"))
+                        .build();
+            case DELETE:
+                // 요청은 발생기 스레드 하나에서만 만들기 때문에 next() 에서 확인한 id 가 그대로 남아 있다.
+                return builder("/todos/" + created.poll()).DELETE().build();
+            default:
+                throw new IllegalArgumentException(operation.name());
+        }
+    }
+
+    void onResponse(TodoOperation operation, HttpResponse<String> response) {
+        if (operation == TodoOperation.POST && response.statusCode() == 200) {
+            Matcher matcher = ID.matcher(response.body());
+            if (matcher.find()) {
+                created.add(Long.valueOf(matcher.group(1)));
+            }
+        }
+    }
+
+    private long seededId(ThreadLocalRandom random) {
+        return random.nextLong(1, seedRows + 1L);
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(TIMEOUT)
+                .header("apikey", API_KEY);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.todo.auth;
+
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.ErrorResponseBodies;
+import com.example.todo.response.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * 쓰기 요청(POST/PUT/PATCH/DELETE)은 apikey 헤더가 등록된 키일 때만 컨트롤러로 넘긴다. 조회는 키 없이 허용한다.
+ * 컨트롤러 밖이라 GlobalExceptionHandler 를 거치지 않으므로 401 본문과 todo.errors 는 여기서 직접 쓴다.
+ */
+public class ApiKeyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "apikey";
+    // 확인된 키 이름. 이후 처리에서 요청한 키를 알아야 할 때 쓴다.
+    public static final String KEY_NAME_ATTRIBUTE = "com.example.todo.auth.ApiKeyFilter.KEY_NAME";
+
+    private final ApiKeyRegistry apiKeyRegistry;
+    private final byte[] unauthorizedBody;
+    private final Counter unauthorized;
+
+    public ApiKeyFilter(ApiKeyRegistry apiKeyRegistry, ErrorResponseBodies errorResponseBodies) {
+        this.apiKeyRegistry = apiKeyRegistry;
+        this.unauthorizedBody = errorResponseBodies.bodyOf(ErrorCode.UNAUTHORIZED);
+        this.unauthorized = Metrics.counter(GlobalExceptionHandler.ERROR_METRIC,
+                "code", ErrorCode.UNAUTHORIZED.name(), "status", String.valueOf(ErrorCode.UNAUTHORIZED.getStatus()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        return method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String apikey = request.getHeader(HEADER);
+        Optional<String> name = apikey == null || apikey.isEmpty() ? Optional.empty() : apiKeyRegistry.authenticate(apikey);
+        if (name.isEmpty()) {
+            unauthorized.increment();
+            response.setStatus(ErrorCode.UNAUTHORIZED.getStatus());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(unauthorizedBody.length);
+            response.getOutputStream().write(unauthorizedBody);
+            return;
+        }
+        request.setAttribute(KEY_NAME_ATTRIBUTE, name.get());
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.todo.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 요청의 API 키를 SHA-256 으로 해시해 확인한다. 확인한 결과는 해시를 키로 캐시하므로 요청마다 저장소를 읽지 않는다.
+ * 없는 키도 negative-ttl 동안 캐시하고, 같은 키를 동시에 확인하면 저장소는 한 번만 읽는다.
+ * 꺼진 키는 캐시가 만료(ttl)된 뒤부터 거절된다.
+ * 캐시와 저장소는 키 원문이 아니라 해시로 찾으므로, 조회 시간으로 키를 한 글자씩 맞춰 볼 수 없다.
+ * 찾기 전에 해시하는 것이 타이밍 공격을 막는 부분이라 찾은 뒤에 다시 비교하지 않는다.
+ */
+@Component
+public class ApiKeyRegistry {
+
+    public static final String METRIC_NAME = "todo.api.key.requests";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final ApiKeyStore apiKeyStore;
+    private final Cache<ByteBuffer, Entry> entries;
+    private final Counter rejected = Metrics.counter(METRIC_NAME, "key", "unknown", "result", "rejected");
+
+    public ApiKeyRegistry(ApiKeyStore apiKeyStore,
+                          @Value("${todo.api-key.cache.ttl:5m}") Duration ttl,
+                          @Value("${todo.api-key.cache.negative-ttl:30s}") Duration negativeTtl,
+                          // 임의의 키를 보내는 요청이 많아도 캐시가 끝없이 커지지 않게 한다.
+                          @Value("${todo.api-key.cache.max-size:10000}") long maxSize) {
+        this.apiKeyStore = apiKeyStore;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<ByteBuffer, Entry>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, Entry entry, long currentTime) {
+                        return (entry.name == null ? negativeTtl : ttl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 사용 중인 키이면 키 이름, 아니면 empty. 결과에 따라 키별 요청 수(todo.api.key.requests)를 센다.
+     */
+    public Optional<String> authenticate(String apikey) {
+        byte[] hash = hash(apikey);
+        Entry entry = entries.get(ByteBuffer.wrap(hash), key -> load(hash));
+        if (entry.name == null) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        entry.accepted.increment();
+        return Optional.of(entry.name);
+    }
+
+    public static byte[] hash(String apikey) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return digest.digest(apikey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    public static byte[] fromHex(String hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("hex length must be even: " + hex.length());
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    private Entry load(byte[] hash) {
+        return apiKeyStore.findName(hash)
+                .map(name -> new Entry(name, Metrics.counter(METRIC_NAME, "key", name, "result", "accepted")))
+                .orElseGet(() -> new Entry(null, null));
+    }
+
+    private static class Entry {
+        private final String name;
+        private final Counter accepted;
+
+        private Entry(String name, Counter accepted) {
+            this.name = name;
+            this.accepted = accepted;
+        }
+    }
+}
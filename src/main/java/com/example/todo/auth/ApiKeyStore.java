@@ -0,0 +1,15 @@
+package com.example.todo.auth;
+
+import java.util.Optional;
+
+/**
+ * API 키 저장소. 키 원문은 두지 않고 SHA-256 해시로만 찾는다. 요청마다 부르지 않도록 {@link ApiKeyRegistry} 가 결과를 캐시한다.
+ * (jpa: api_key 테이블 / memory: todo.api-key.keys 설정)
+ */
+public interface ApiKeyStore {
+
+    /**
+     * 해시가 같은 사용 중인 키의 이름. 없거나 꺼진 키이면 empty 이다.
+     */
+    Optional<String> findName(byte[] keyHash);
+}
@@ -0,0 +1,50 @@
+package com.example.todo.auth;
+
+import com.example.todo.store.TodoStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * DB 가 없는 메모리 저장소용. todo.api-key.keys.&lt;이름&gt;=&lt;SHA-256 hex&gt; 로 설정한 키를 쓴다.
+ * 모든 키와 상수 시간으로 비교하고 중간에 멈추지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = TodoStore.PROPERTY, havingValue = "memory")
+public class ConfiguredApiKeyStore implements ApiKeyStore {
+
+    public static final String PROPERTY = "todo.api-key.keys";
+
+    private final Map<String, byte[]> keys = new LinkedHashMap<>();
+
+    public ConfiguredApiKeyStore(Environment environment) {
+        configuredKeys(environment).forEach((name, hash) -> keys.put(name, ApiKeyRegistry.fromHex(hash)));
+    }
+
+    /**
+     * todo.api-key.keys 의 이름 -> 해시(hex). 설정이 없으면 비어 있다.
+     */
+    static Map<String, String> configuredKeys(Environment environment) {
+        return Binder.get(environment)
+                .bind(PROPERTY, Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+    }
+
+    @Override
+    public Optional<String> findName(byte[] keyHash) {
+        String found = null;
+        for (Map.Entry<String, byte[]> key : keys.entrySet()) {
+            if (MessageDigest.isEqual(key.getValue(), keyHash)) {
+                found = key.getKey();
+            }
+        }
+        return Optional.ofNullable(found);
+    }
+}
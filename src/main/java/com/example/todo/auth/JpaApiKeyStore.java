@@ -0,0 +1,46 @@
+package com.example.todo.auth;
+
+import com.example.todo.entity.ApiKey;
+import com.example.todo.repository.ApiKeyRepository;
+import com.example.todo.store.TodoStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.util.Optional;
+
+/**
+ * api_key 테이블에서 hex 로 바꾼 해시로 찾는다. 해시 컬럼에 유일 인덱스가 있다.
+ * dev 프로필은 시작할 때마다 스키마를 지우므로, todo.api-key.keys 로 설정한 키를 시작할 때 테이블에 없으면 넣는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = TodoStore.PROPERTY, havingValue = "jpa", matchIfMissing = true)
+public class JpaApiKeyStore implements ApiKeyStore {
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final Environment environment;
+
+    @PostConstruct
+    void seed() {
+        ConfiguredApiKeyStore.configuredKeys(environment).forEach((name, hash) -> {
+            // 대소문자가 달라도 같은 키로 보도록 hex 를 다시 만든다.
+            String keyHash = ApiKeyRegistry.toHex(ApiKeyRegistry.fromHex(hash));
+            if (!apiKeyRepository.existsByKeyHash(keyHash)) {
+                apiKeyRepository.save(ApiKey.of(name, keyHash));
+                log.info("api key registered from {}: {}", ConfiguredApiKeyStore.PROPERTY, name);
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findName(byte[] keyHash) {
+        return apiKeyRepository.findEnabledName(ApiKeyRegistry.toHex(keyHash));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.todo.config;
+
+import com.example.todo.auth.ApiKeyFilter;
+import com.example.todo.auth.ApiKeyRegistry;
+import com.example.todo.response.ErrorResponseBodies;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * /todos 쓰기 요청 앞에 API 키 필터를 둔다. 필터를 @Component 로 두지 않아 컨트롤러 슬라이스 테스트(@WebMvcTest)에는 들어가지 않는다.
+ */
+@Configuration
+public class ApiKeyConfig {
+
+    @Bean
+    public FilterRegistrationBean<ApiKeyFilter> apiKeyFilter(ApiKeyRegistry apiKeyRegistry, ObjectMapper objectMapper) {
+        FilterRegistrationBean<ApiKeyFilter> registration =
+                new FilterRegistrationBean<>(new ApiKeyFilter(apiKeyRegistry, new ErrorResponseBodies(objectMapper)));
+        registration.addUrlPatterns("/todos", "/todos/*");
+        return registration;
+    }
+}
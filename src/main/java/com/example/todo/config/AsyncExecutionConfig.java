@@ -0,0 +1,60 @@
+package com.example.todo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * todo.execution.mode=async 이면 요청 처리와 TodoService 호출을 톰캣 워커가 아닌 todo.execution.threads 개의
+ * 전용 스레드에서 실행한다. 톰캣 워커는 JDBC 를 기다리는 동안 묶이지 않고, 넘치는 요청은 503 으로 거절한다.
+ * (JDK 11 기준이라 가상 스레드 대신 제한된 스레드 풀을 쓴다.)
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.execution.mode", havingValue = "async")
+public class AsyncExecutionConfig {
+
+    @Value("${todo.execution.threads:32}")
+    private int threads;
+
+    // 실행 중 + 대기 중인 요청 수의 상한
+    @Value("${todo.execution.max-concurrency:1000}")
+    private int maxConcurrency;
+
+    @Value("${todo.execution.timeout:30s}")
+    private Duration timeout;
+
+    @Bean
+    public ThreadPoolTaskExecutor todoRequestExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        // 입장 제한(maxConcurrency)을 먼저 통과해야 들어오므로 큐가 넘쳐 거절되는 일은 없다.
+        executor.setQueueCapacity(maxConcurrency);
+        executor.setThreadNamePrefix("todo-request-");
+        return executor;
+    }
+
+    @Bean
+    public WebMvcRegistrations asyncExecutionRegistrations(ThreadPoolTaskExecutor todoRequestExecutor) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Gauge.builder("todo.execution.in.flight", permits, p -> maxConcurrency - p.availablePermits())
+                .description("async 모드에서 실행 중이거나 대기 중인 요청 수")
+                .strongReference(true)
+                .register(Metrics.globalRegistry);
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new AsyncRequestMappingHandlerAdapter(todoRequestExecutor, permits, timeout.toMillis());
+            }
+        };
+    }
+}
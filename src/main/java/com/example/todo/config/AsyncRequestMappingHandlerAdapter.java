@@ -0,0 +1,86 @@
+package com.example.todo.config;
+
+import com.example.todo.metrics.StatementCountFilter;
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpEntity;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+
+/**
+ * @RestController 핸들러 호출을 WebAsyncTask 로 감싸 전용 실행기에서 처리한다.
+ * 서블릿 스레드는 요청을 넘기고 바로 반환되고, 응답은 비동기 디스패치에서 쓴다.
+ * 실행 중이거나 대기 중인 요청이 maxConcurrency 를 넘으면 큐에 넣지 않고 바로 503 으로 거절한다.
+ */
+class AsyncRequestMappingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    private final AsyncTaskExecutor executor;
+    private final Semaphore permits;
+    private final long timeoutMillis;
+
+    AsyncRequestMappingHandlerAdapter(AsyncTaskExecutor executor, Semaphore permits, long timeoutMillis) {
+        this.executor = executor;
+        this.permits = permits;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        if (!offloads(handlerMethod)) {
+            return super.createInvocableHandlerMethod(handlerMethod);
+        }
+        return new ServletInvocableHandlerMethod(handlerMethod) {
+            @Override
+            protected Object doInvoke(Object... args) {
+                if (!permits.tryAcquire()) {
+                    throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE);
+                }
+                HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+                // SQL 문 수는 실행기 스레드에서 세어 요청 속성으로 필터에 넘긴다.
+                Callable<Object> callable = StatementCountFilter.counted(request, () -> super.doInvoke(args));
+                WebAsyncTask<Object> task = new WebAsyncTask<>(timeoutMillis, executor, callable);
+                // 정상 완료, 타임아웃, 에러 모두 여기로 온다. 타임아웃으로 실행되지 못한 작업도 자리를 돌려준다.
+                task.onCompletion(permits::release);
+                return task;
+            }
+        };
+    }
+
+    // 이미 비동기로 응답하는 핸들러(전체 목록 스트리밍 등)와 actuator, 에러 컨트롤러는 그대로 둔다.
+    private boolean offloads(HandlerMethod handlerMethod) {
+        return AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), RestController.class)
+                && !isAsyncReturnType(handlerMethod.getReturnType());
+    }
+
+    private boolean isAsyncReturnType(MethodParameter returnType) {
+        Class<?> type = returnType.getParameterType();
+        if (HttpEntity.class.isAssignableFrom(type)) {
+            type = ResolvableType.forMethodParameter(returnType).getGeneric().resolve(Object.class);
+        }
+        return Callable.class.isAssignableFrom(type)
+                || WebAsyncTask.class.isAssignableFrom(type)
+                || DeferredResult.class.isAssignableFrom(type)
+                || CompletionStage.class.isAssignableFrom(type)
+                || ListenableFuture.class.isAssignableFrom(type)
+                || StreamingResponseBody.class.isAssignableFrom(type)
+                || ResponseBodyEmitter.class.isAssignableFrom(type);
+    }
+}
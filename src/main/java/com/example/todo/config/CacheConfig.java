@@ -0,0 +1,16 @@
+package com.example.todo.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 캐시 어드바이스가 트랜잭션 어드바이스보다 바깥에서 동작하도록 순서를 지정한다.
+ * 캐시 히트는 트랜잭션을 열지 않고, 쓰기 후 무효화는 커밋 이후에 일어난다.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String TODO_CACHE = "todo";
+}
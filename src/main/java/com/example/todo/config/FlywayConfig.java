@@ -0,0 +1,22 @@
+package com.example.todo.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * dev 는 예전 ddl-auto: create 처럼 시작할 때마다 스키마를 지우고 마이그레이션으로 다시 만든다.
+     */
+    @Bean
+    @Profile("dev & !prod")
+    public FlywayMigrationStrategy recreateSchemaStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
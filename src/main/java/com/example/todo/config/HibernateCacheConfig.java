@@ -0,0 +1,82 @@
+package com.example.todo.config;
+
+import com.example.todo.metrics.QueryCacheRegionMetrics;
+import com.example.todo.store.TodoStore;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.persistence.EntityManagerFactory;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate 2차 캐시(JCache + Caffeine). 리전마다 최대 개수와 TTL 을 따로 두고, 여기서 만들지 않은 리전이 필요하면
+ * 시작하지 못한다(missing_cache_strategy: fail). 리전별 적중/누락은 /actuator/prometheus 의
+ * hibernate_second_level_cache_*, hibernate_cache_query_* 지표로 나온다.
+ */
+@Configuration
+@ConditionalOnProperty(name = TodoStore.PROPERTY, havingValue = "jpa", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+    /**
+     * Todo 엔티티 리전
+     */
+    public static final String TODO_REGION = "todo.entity";
+
+    /**
+     * 목록 첫 페이지와 목록 버전(개수, 마지막 수정 시각) 쿼리 리전
+     */
+    public static final String LIST_REGION = "todo.list";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${todo.hibernate-cache.entity.max-size:10000}") long entityMaxSize,
+            @Value("${todo.hibernate-cache.entity.ttl:10m}") Duration entityTtl,
+            @Value("${todo.hibernate-cache.query.max-size:1000}") long queryMaxSize,
+            @Value("${todo.hibernate-cache.query.ttl:60s}") Duration queryTtl) {
+        // 같은 URI 의 매니저는 공유된다. 컨텍스트마다 DB 가 다를 수 있으므로(테스트) 따로 만든다.
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("todo-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(TODO_REGION, region(OptionalLong.of(entityMaxSize), entityTtl));
+        cacheManager.createCache(LIST_REGION, region(OptionalLong.of(queryMaxSize), queryTtl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(OptionalLong.of(queryMaxSize), queryTtl));
+        // 쿼리 결과가 최신인지 판단하는 테이블별 수정 시각. 밀려나거나 만료되면 지난 쿼리 결과를 돌려줄 수 있어 제한하지 않는다.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                region(OptionalLong.empty(), Duration.ZERO));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder queryCacheRegionMetrics(EntityManagerFactory entityManagerFactory) {
+        return new QueryCacheRegionMetrics(entityManagerFactory.unwrap(SessionFactory.class).getStatistics(),
+                List.of(LIST_REGION, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME));
+    }
+
+    // ttl 이 0 이면 만료하지 않는다.
+    private static CaffeineConfiguration<Object, Object> region(OptionalLong maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(ttl.isZero() ? OptionalLong.empty() : OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
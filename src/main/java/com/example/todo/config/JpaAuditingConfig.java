@@ -1,9 +1,12 @@
 package com.example.todo.config;
 
+import com.example.todo.store.TodoStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @Configuration
 @EnableJpaAuditing
+@ConditionalOnProperty(name = TodoStore.PROPERTY, havingValue = "jpa", matchIfMissing = true)
 public class JpaAuditingConfig {
 }
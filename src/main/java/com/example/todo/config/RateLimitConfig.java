@@ -0,0 +1,54 @@
+package com.example.todo.config;
+
+import com.example.todo.auth.ApiKeyRegistry;
+import com.example.todo.ratelimit.RateLimitInterceptor;
+import com.example.todo.ratelimit.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * /todos 요청에 클라이언트별 요청 한도를 둔다. 조회와 쓰기는 한도를 따로 설정한다.
+ * WebMvcConfigurer 를 이 클래스가 아닌 @Bean 으로 두어 컨트롤러 슬라이스 테스트(@WebMvcTest)에는 들어가지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Value("${todo.rate-limit.read.rate:200}")
+    private long readRate;
+
+    @Value("${todo.rate-limit.read.burst:400}")
+    private long readBurst;
+
+    @Value("${todo.rate-limit.write.rate:50}")
+    private long writeRate;
+
+    @Value("${todo.rate-limit.write.burst:100}")
+    private long writeBurst;
+
+    @Value("${todo.rate-limit.idle-timeout:10m}")
+    private Duration idleTimeout;
+
+    @Value("${todo.rate-limit.max-clients:100000}")
+    private long maxClients;
+
+    @Bean
+    public WebMvcConfigurer rateLimitConfigurer(ApiKeyRegistry apiKeyRegistry) {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                new RateLimiter(readRate, readBurst, idleTimeout, maxClients),
+                new RateLimiter(writeRate, writeBurst, idleTimeout, maxClients),
+                apiKeyRegistry);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/todos", "/todos/**");
+            }
+        };
+    }
+}
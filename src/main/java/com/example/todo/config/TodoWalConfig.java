@@ -0,0 +1,35 @@
+package com.example.todo.config;
+
+import com.example.todo.store.TodoStore;
+import com.example.todo.store.wal.FsyncPolicy;
+import com.example.todo.store.wal.TodoWriteAheadLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * todo.store=memory 에서 todo.wal.enabled=true 이면 InMemoryTodoStore 의 변경을 WAL 과 스냅샷으로 남겨
+ * 재시작해도 H2 없이 복구한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = TodoStore.PROPERTY, havingValue = "memory")
+public class TodoWalConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "todo.wal.enabled", havingValue = "true")
+    public TodoWriteAheadLog todoWriteAheadLog(
+            @Value("${todo.wal.dir:todo-wal}") Path directory,
+            // always: 응답 전에 fsync(group commit) / interval: fsync-interval 마다 / none: OS 에 맡긴다
+            @Value("${todo.wal.fsync:always}") FsyncPolicy fsyncPolicy,
+            @Value("${todo.wal.fsync-interval:100ms}") Duration fsyncInterval,
+            @Value("${todo.wal.segment-size:64MB}") DataSize segmentSize,
+            // 0 이면 주기적인 스냅샷을 뜨지 않는다. (시작할 때 복구한 기록이 있으면 뜬다)
+            @Value("${todo.wal.snapshot-interval:10m}") Duration snapshotInterval) {
+        return new TodoWriteAheadLog(directory, fsyncPolicy, segmentSize.toBytes(), fsyncInterval, snapshotInterval);
+    }
+}
@@ -1,16 +1,40 @@
 package com.example.todo.controller;
 
+import com.example.todo.auth.ApiKeyFilter;
+import com.example.todo.dto.TodoBatchResultDto;
+import com.example.todo.dto.TodoBatchUpdateRequest;
+import com.example.todo.dto.TodoCounts;
+import com.example.todo.dto.TodoCursorPageDto;
 import com.example.todo.dto.TodoDto;
 import com.example.todo.dto.TodoListDto;
+import com.example.todo.dto.TodoListFilter;
+import com.example.todo.dto.TodoListVersion;
+import com.example.todo.dto.TodoPatchRequest;
 import com.example.todo.dto.TodoRequest;
-import com.example.todo.response.ErrorCode;
-import com.example.todo.response.exception.BusinessException;
+import com.example.todo.dto.TodoSort;
+import com.example.todo.dto.TodoUrlMode;
+import com.example.todo.idempotency.IdempotencyCache;
 import com.example.todo.service.TodoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -19,43 +43,205 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TodoController {
 
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+    public static final String APPLICATION_MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    public static final String URL_MODE_PARAM = "url_mode";
+    public static final String URL_MODE_HEADER = "X-Url-Mode";
+    public static final String URL_TEMPLATE_HEADER = "X-Url-Template";
+    public static final String TOTAL_HEADER = "X-Total";
+    public static final String COMPLETED_TOTAL_HEADER = "X-Completed-Total";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final TodoService todoService;
+    private final IdempotencyCache idempotencyCache;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{todoId}")
-    public TodoDto getTodo(@PathVariable("todoId") Long todoId) {
-        return todoService.getTodo(todoId);
+    public TodoDto getTodo(@PathVariable("todoId") Long todoId, ServletWebRequest webRequest) {
+        TodoDto todo = todoService.getTodo(todoId);
+        if (webRequest.checkNotModified(TodoETags.of(todo), TodoETags.lastModified(todo.getUpdatedAt()))) {
+            return null;
+        }
+        return todo;
     }
 
+    /**
+     * If-Match 가 있으면 해당 버전일 때만 수정하고(불일치시 412), 없으면 기존처럼 수정한다.
+     */
     @PutMapping("/{todoId}")
-    public TodoDto updateTodo(@PathVariable Long todoId,
-                              @RequestBody TodoRequest request,
-                              @RequestHeader(value = "apikey",required = false) String apikey) {
-        valid(apikey);
-        return todoService.updateTodo(todoId, request);
+    public ResponseEntity<TodoDto> updateTodo(@PathVariable Long todoId,
+                                              @RequestBody TodoRequest request,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = TodoETags.parseVersion(todoId, ifMatch);
+        TodoDto todo = expectedVersion == null
+                ? todoService.updateTodo(todoId, request)
+                : todoService.updateTodo(todoId, request, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(TodoETags.of(todo))
+                .body(todo);
+    }
+
+    @PatchMapping(value = "/{todoId}", consumes = {APPLICATION_MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<TodoDto> patchTodo(@PathVariable Long todoId,
+                                             @RequestBody JsonNode patch,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TodoDto todo = todoService.patchTodo(todoId, TodoPatchRequest.from(patch), TodoETags.parseVersion(todoId, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(TodoETags.of(todo))
+                .body(todo);
     }
 
     @ResponseStatus(value = HttpStatus.NO_CONTENT)
     @DeleteMapping("/{todoId}")
-    public void deleteTodo(@PathVariable Long todoId, @RequestHeader(value = "apikey", required = false) String apikey) {
-        valid(apikey);
+    public void deleteTodo(@PathVariable Long todoId) {
         todoService.deleteTodo(todoId);
     }
 
+    /**
+     * Idempotency-Key 가 있으면 같은 키로 다시 보낸 요청에는 새로 만들지 않고 처음 응답을 돌려준다.
+     */
     @PostMapping
-    public TodoDto createTodo(@RequestBody TodoRequest request, @RequestHeader(value = "apikey", required = false) String apikey) {
-        valid(apikey);
-        return todoService.createTodo(request);
+    public TodoDto createTodo(@RequestBody TodoRequest request,
+                              @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                              @RequestAttribute(value = ApiKeyFilter.KEY_NAME_ATTRIBUTE, required = false) String client) {
+        if (idempotencyKey == null) {
+            return todoService.createTodo(request);
+        }
+        return idempotencyCache.execute(client, idempotencyKey, request, () -> todoService.createTodo(request));
+    }
+
+    @PostMapping("/batch")
+    public List<TodoBatchResultDto> createTodos(@RequestBody List<TodoRequest> requests) {
+        return todoService.createTodos(requests);
+    }
+
+    @PatchMapping("/batch")
+    public List<TodoBatchResultDto> updateTodos(@RequestBody List<TodoBatchUpdateRequest> requests) {
+        return todoService.updateTodos(requests);
     }
 
+    @DeleteMapping("/batch")
+    public List<TodoBatchResultDto> deleteTodos(@RequestBody List<Long> todoIds) {
+        return todoService.deleteTodos(todoIds);
+    }
+
+    /**
+     * completed, created_after, created_before(ISO 날짜시각), name(앞부분 일치) 로 거르고
+     * sort(TodoSort 에 정의된 값) 로 정렬한다. 기본 정렬은 id,desc 이다.
+     */
     @GetMapping
-    public List<TodoListDto> listTodos(@RequestParam("skip") int skip, @RequestParam("limit") int limit) {
-        return todoService.getTodos(skip, limit);
+    public List<TodoListDto> listTodos(@RequestParam("skip") int skip, @RequestParam("limit") int limit,
+                                       @RequestParam(value = "completed", required = false) Boolean completed,
+                                       @RequestParam(value = "created_after", required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+                                       @RequestParam(value = "created_before", required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore,
+                                       @RequestParam(value = "name", required = false) String name,
+                                       @RequestParam(value = "sort", required = false) String sort,
+                                       ServletWebRequest webRequest) {
+        TodoSort todoSort = TodoSort.from(sort);
+        TodoUrlMode urlMode = urlMode(webRequest);
+        if (listNotModified(webRequest, urlMode)) {
+            return null;
+        }
+        TodoListFilter filter = TodoListFilter.builder()
+                .completed(completed)
+                .createdAfter(createdAfter)
+                .createdBefore(createdBefore)
+                .name(name)
+                .build();
+        List<TodoListDto> todos = todoService.getTodos(filter, todoSort, skip, limit, urlMode);
+        countHeaders(webRequest);
+        return todos;
     }
 
+    @GetMapping(params = "after")
+    public TodoCursorPageDto listTodosAfter(@RequestParam("after") String after, @RequestParam("limit") int limit,
+                                            ServletWebRequest webRequest) {
+        TodoUrlMode urlMode = urlMode(webRequest);
+        if (listNotModified(webRequest, urlMode)) {
+            return null;
+        }
+        TodoCursorPageDto page = todoService.getTodos(after, limit, urlMode);
+        countHeaders(webRequest);
+        return page;
+    }
+
+    /**
+     * limit=0 은 전체 목록 요청이다. 목록을 모아두지 않고 응답 스트림에 바로 쓴다.
+     * Accept 가 application/x-ndjson 이면 한 줄에 한 건씩, 아니면 기존과 같은 JSON 배열로 쓴다.
+     */
+    @GetMapping(params = {"limit=0", "!after"})
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            ServletWebRequest webRequest) {
+        TodoUrlMode urlMode = urlMode(webRequest);
+        countHeaders(webRequest);
+        boolean ndjson = accept != null && accept.contains(APPLICATION_NDJSON.toString());
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                if (!ndjson) {
+                    generator.writeStartArray();
+                }
+                todoService.exportTodos(urlMode, todo -> write(writer, generator, todo, ndjson));
+                if (!ndjson) {
+                    generator.writeEndArray();
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * 목록은 삭제되어도 마지막 수정 시각이 바뀌지 않으므로 If-Modified-Since 로는 판단하지 않고
+     * 개수가 포함된 ETag 로만 판단한다. Last-Modified 는 참고용으로만 내려준다.
+     */
+    private boolean listNotModified(ServletWebRequest webRequest, TodoUrlMode urlMode) {
+        TodoListVersion version = todoService.getListVersion();
+        long lastModified = TodoETags.lastModified(version.getLastUpdatedAt());
+        if (lastModified > 0) {
+            webRequest.getResponse().setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        }
+        return webRequest.checkNotModified(TodoETags.of(version, urlMode));
+    }
+
+    /**
+     * 목록 url 방식을 url_mode 파라미터, X-Url-Mode 헤더 순으로 정한다. 헤더에 따라 응답이 달라지므로
+     * Vary 를 붙이고, template 이면 항목 url 대신 X-Url-Template 헤더를 내려준다.
+     */
+    private TodoUrlMode urlMode(ServletWebRequest webRequest) {
+        String value = webRequest.getParameter(URL_MODE_PARAM);
+        TodoUrlMode urlMode = TodoUrlMode.from(value != null ? value : webRequest.getHeader(URL_MODE_HEADER));
+        HttpServletResponse response = webRequest.getResponse();
+        response.addHeader(HttpHeaders.VARY, URL_MODE_HEADER);
+        if (urlMode == TodoUrlMode.TEMPLATE) {
+            response.setHeader(URL_TEMPLATE_HEADER, todoService.getUrlTemplate());
+        }
+        return urlMode;
+    }
+
+    /**
+     * 필터와 무관한 전체/완료 개수. 저장소가 유지하는 값이라 목록마다 세지 않는다.
+     */
+    private void countHeaders(ServletWebRequest webRequest) {
+        TodoCounts counts = todoService.getCounts();
+        HttpServletResponse response = webRequest.getResponse();
+        response.setHeader(TOTAL_HEADER, Long.toString(counts.getTotal()));
+        response.setHeader(COMPLETED_TOTAL_HEADER, Long.toString(counts.getCompletedTotal()));
+    }
 
-    private void valid(String apikey) {
-        if (apikey == null || apikey.isEmpty()) {
-            throw new BusinessException(ErrorCode.UNAUTHORIZED);
+    private void write(ObjectWriter writer, JsonGenerator generator, TodoListDto todo, boolean ndjson) {
+        try {
+            writer.writeValue(generator, todo);
+            if (ndjson) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 }
@@ -0,0 +1,74 @@
+package com.example.todo.controller;
+
+import com.example.todo.dto.TodoDto;
+import com.example.todo.dto.TodoListVersion;
+import com.example.todo.dto.TodoUrlMode;
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * 조건부 요청(If-None-Match / If-Modified-Since)에 사용하는 ETag, Last-Modified 값을 만든다.
+ */
+final class TodoETags {
+
+    private TodoETags() {
+    }
+
+    /**
+     * 단건 ETag 는 id 와 버전으로 만든다. 같은 값을 If-Match 로 보내면 조건부 수정에 사용할 수 있다.
+     */
+    static String of(TodoDto todo) {
+        return "\"" + todo.getId() + "-" + todo.getVersion() + "\"";
+    }
+
+    /**
+     * If-Match 헤더에서 기대하는 버전을 꺼낸다. 헤더가 없거나 "*" 이면 null 을 돌려주며,
+     * 다른 todo 의 ETag 이거나 형식이 맞지 않으면 Precondition Failed 를 던진다.
+     */
+    static Long parseVersion(Long todoId, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        String prefix = "\"" + todoId + "-";
+        if (!eTag.startsWith(prefix) || !eTag.endsWith("\"") || eTag.length() <= prefix.length() + 1) {
+            throw new BusinessException(ErrorCode.PRECONDITION_FAILED);
+        }
+        try {
+            return Long.parseLong(eTag.substring(prefix.length(), eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.PRECONDITION_FAILED);
+        }
+    }
+
+    /**
+     * 목록 ETag 는 개수, 마지막 수정 시각, 쓰기 순번으로 만든다. url_mode=template 응답은 본문이 다르므로 구분한다.
+     */
+    static String of(TodoListVersion version, TodoUrlMode urlMode) {
+        String suffix = urlMode == TodoUrlMode.TEMPLATE ? "-t" : "";
+        return "\"" + version.getCount() + "-" + Long.toHexString(nanos(version.getLastUpdatedAt()))
+                + "-" + Long.toHexString(version.getSequence()) + suffix + "\"";
+    }
+
+    /**
+     * Last-Modified 헤더 값. 수정 시각이 없으면 -1 을 돌려주어 헤더를 생략하게 한다.
+     */
+    static long lastModified(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return -1;
+        }
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long nanos(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return 0;
+        }
+        ZonedDateTime zoned = updatedAt.atZone(ZoneId.systemDefault());
+        return zoned.toEpochSecond() * 1_000_000_000L + zoned.getNano();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.todo.dto;
+
+import com.example.todo.response.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * 일괄 처리 요청의 항목별 결과. index 는 요청 목록에서의 위치이다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class TodoBatchResultDto {
+    private int index;
+    private Long id;
+    private String status;
+    private String error;
+    private TodoDto todo;
+
+    public static TodoBatchResultDto success(int index, HttpStatus status, TodoDto todo) {
+        return TodoBatchResultDto.builder()
+                .index(index)
+                .id(todo.getId())
+                .status(String.valueOf(status.value()))
+                .todo(todo)
+                .build();
+    }
+
+    public static TodoBatchResultDto success(int index, HttpStatus status, Long id) {
+        return TodoBatchResultDto.builder()
+                .index(index)
+                .id(id)
+                .status(String.valueOf(status.value()))
+                .build();
+    }
+
+    public static TodoBatchResultDto failure(int index, Long id, ErrorCode errorCode) {
+        return TodoBatchResultDto.builder()
+                .index(index)
+                .id(id)
+                .status(String.valueOf(errorCode.getStatus()))
+                .error(errorCode.getMessage())
+                .build();
+    }
+}
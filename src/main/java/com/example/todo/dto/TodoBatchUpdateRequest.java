@@ -0,0 +1,18 @@
+package com.example.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoBatchUpdateRequest {
+    private Long id;
+    private String name;
+    private Boolean completed;
+
+    public TodoRequest toTodoRequest() {
+        return new TodoRequest(this.name, this.completed);
+    }
+}
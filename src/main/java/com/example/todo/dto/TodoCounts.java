@@ -0,0 +1,32 @@
+package com.example.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 전체 todo 개수와 완료된 todo 개수. 목록 요청마다 세지 않고 저장소가 쓰기마다 유지하는 값을 읽는다.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class TodoCounts {
+
+    public static final TodoCounts ZERO = new TodoCounts(0, 0);
+
+    private final long total;
+    private final long completedTotal;
+
+    public TodoCounts plus(long total, long completedTotal) {
+        return new TodoCounts(this.total + total, this.completedTotal + completedTotal);
+    }
+
+    /**
+     * 완료 개수에 들어가는지(1) 아닌지(0). completed 가 null 이면 완료가 아니다.
+     */
+    public static int completed(Boolean completed) {
+        return Boolean.TRUE.equals(completed) ? 1 : 0;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.todo.dto;
+
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 커서 기반 페이지네이션에서 사용하는 불투명(opaque) 토큰.
+ * 마지막으로 조회한 todo id 를 감싸서 클라이언트가 내부 값에 의존하지 않도록 한다.
+ */
+public final class TodoCursor {
+
+    private static final String PREFIX = "id:";
+
+    private TodoCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        if (lastId == null) {
+            return null;
+        }
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 토큰을 해석해 기준 id 를 돌려준다. 비어있으면 첫 페이지를 의미하므로 {@link Long#MAX_VALUE} 를 돌려준다.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new BusinessException(ErrorCode.BAD_REQUEST);
+            }
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST);
+        }
+    }
+}
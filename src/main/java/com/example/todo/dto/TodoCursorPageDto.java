@@ -0,0 +1,15 @@
+package com.example.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class TodoCursorPageDto {
+    private List<TodoListDto> todos;
+    private String nextCursor;
+}
@@ -1,6 +1,7 @@
 package com.example.todo.dto;
 
 import com.example.todo.entity.Todo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -17,6 +18,8 @@ public class TodoDto {
     private LocalDateTime completedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @JsonIgnore
+    private Long version;
 
     public static TodoDto from(Todo todo) {
         return TodoDto.builder()
@@ -26,6 +29,7 @@ public class TodoDto {
                 .completedAt(todo.getCompletedAt())
                 .createdAt(todo.getCreatedAt())
                 .updatedAt(todo.getUpdatedAt())
+                .version(todo.getVersion())
                 .build();
     }
 }
@@ -1,6 +1,7 @@
 package com.example.todo.dto;
 
 import com.example.todo.entity.Todo;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -15,7 +16,9 @@ public class TodoListDto {
     private String name;
     private boolean completed;
     private LocalDateTime completedAt;
-    private String url;
+    /** String 이나 TodoUrl. url_mode=template 이면 null 이고 응답에서 빠진다. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CharSequence url;
 
     public static TodoListDto of(Todo todo, String url) {
         return TodoListDto.builder()
@@ -26,4 +29,14 @@ public class TodoListDto {
                 .url(url)
                 .build();
     }
+
+    public static TodoListDto of(TodoSummary todo, CharSequence url) {
+        return TodoListDto.builder()
+                .id(todo.getId())
+                .name(todo.getName())
+                .completed(Boolean.TRUE.equals(todo.getCompleted()))
+                .completedAt(todo.getCompletedAt())
+                .url(url)
+                .build();
+    }
 }
@@ -0,0 +1,27 @@
+package com.example.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 조회 조건. null 인 조건은 적용하지 않는다.
+ */
+@Getter
+@Builder
+@EqualsAndHashCode
+@AllArgsConstructor
+public class TodoListFilter {
+    private Boolean completed;
+    private LocalDateTime createdAfter;
+    private LocalDateTime createdBefore;
+    /** 이름 앞부분 */
+    private String name;
+
+    public static TodoListFilter none() {
+        return TodoListFilter.builder().build();
+    }
+}
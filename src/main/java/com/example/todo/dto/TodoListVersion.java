@@ -0,0 +1,22 @@
+package com.example.todo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 응답의 변경 여부를 판단하기 위한 지문. 엔티티를 읽지 않고 집계 쿼리로만 구한다.
+ * 삭제는 개수를, 생성과 수정은 마지막 수정 시각을 바꾸므로 둘을 함께 보면 목록 변경을 알 수 있다.
+ * 수정 시각은 커밋보다 먼저 정해지므로 더 늦은 시각이 먼저 커밋되면 마지막 수정 시각이 그대로일 수 있어 쓰기 순번을 함께 본다.
+ */
+public interface TodoListVersion {
+
+    long getCount();
+
+    LocalDateTime getLastUpdatedAt();
+
+    /**
+     * 이 노드에서 커밋한 쓰기 순번. 집계 쿼리 결과에는 없으므로 저장소가 채운다.
+     */
+    default long getSequence() {
+        return 0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.todo.dto;
+
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+
+/**
+ * 목록 skip(페이지 번호)/limit 검사. MVC 와 reactive 서비스가 같은 규칙을 쓴다.
+ */
+public final class TodoPaging {
+
+    // 한 페이지에 담을 수 있는 최대 개수. 더 필요하면 limit=0 스트리밍을 쓴다.
+    public static final int MAX_LIMIT = 1000;
+
+    private TodoPaging() {
+    }
+
+    /**
+     * limit 이 1 이상 MAX_LIMIT 이하가 아니면 Bad Request 에러를 던진다.
+     */
+    public static void checkLimit(int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * skip 번째 페이지의 offset. 저장소는 int 범위의 offset 만 받으므로 넘으면 Bad Request 에러를 던진다.
+     */
+    public static long offset(int skip, int limit) {
+        checkLimit(limit);
+        long offset = (long) skip * limit;
+        if (skip < 0 || offset > Integer.MAX_VALUE) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST);
+        }
+        return offset;
+    }
+}
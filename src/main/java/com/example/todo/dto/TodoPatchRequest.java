@@ -0,0 +1,53 @@
+package com.example.todo.dto;
+
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Iterator;
+
+/**
+ * JSON Merge Patch(RFC 7396) 요청. 문서에 들어있는 필드만 수정하며, 없는 필드는 그대로 둔다.
+ * name, completed 는 비울 수 없는 값이므로 null 로 지우는 요청은 Bad Request 로 처리한다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TodoPatchRequest {
+    private static final String NAME = "name";
+    private static final String COMPLETED = "completed";
+
+    private final String name;
+    private final Boolean completed;
+
+    public static TodoPatchRequest from(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST);
+        }
+        Iterator<String> fieldNames = patch.fieldNames();
+        while (fieldNames.hasNext()) {
+            String fieldName = fieldNames.next();
+            if (!NAME.equals(fieldName) && !COMPLETED.equals(fieldName)) {
+                throw new BusinessException(ErrorCode.BAD_REQUEST);
+            }
+        }
+        JsonNode name = patch.get(NAME);
+        JsonNode completed = patch.get(COMPLETED);
+        if ((name != null && !name.isTextual()) || (completed != null && !completed.isBoolean())) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST);
+        }
+        return new TodoPatchRequest(
+                name == null ? null : name.textValue(),
+                completed == null ? null : completed.booleanValue());
+    }
+
+    public boolean hasName() {
+        return name != null;
+    }
+
+    public boolean hasCompleted() {
+        return completed != null;
+    }
+}
@@ -17,8 +17,8 @@ public class TodoRequest {
     public Todo toEntity() {
         return Todo.builder()
                 .name(this.name)
-                .completed(this.completed)
-                .completedAt(this.completed ? LocalDateTime.now() : null)
+                .completed(Boolean.TRUE.equals(this.completed))
+                .completedAt(Boolean.TRUE.equals(this.completed) ? LocalDateTime.now() : null)
                 .build();
     }
 }
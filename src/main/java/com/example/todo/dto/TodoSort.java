@@ -0,0 +1,55 @@
+package com.example.todo.dto;
+
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+import org.springframework.data.domain.Sort;
+
+/**
+ * 목록에서 허용하는 정렬. 인덱스(V2 마이그레이션)로 정렬을 건너뛸 수 있는 조합만 열어두고,
+ * 같은 값끼리의 순서가 페이지마다 달라지지 않도록 id 를 마지막 기준으로 붙인다.
+ */
+public enum TodoSort {
+    ID_DESC("id,desc", Sort.by(Sort.Order.desc("id"))),
+    ID_ASC("id,asc", Sort.by(Sort.Order.asc("id"))),
+    CREATED_AT_DESC("created_at,desc", Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))),
+    CREATED_AT_ASC("created_at,asc", Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"))),
+    NAME_ASC("name,asc", Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id")));
+
+    private final String value;
+    private final Sort sort;
+
+    TodoSort(String value, Sort sort) {
+        this.value = value;
+        this.sort = sort;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * completed 로 거를 때는 정렬 앞에 completed 를 붙인다. 결과 순서는 같지만 H2 는 ORDER BY 가
+     * 인덱스 컬럼과 앞에서부터 일치해야 정렬을 생략하므로 (completed, ...) 인덱스를 그대로 쓸 수 있다.
+     */
+    public Sort sortFor(TodoListFilter filter) {
+        if (filter.getCompleted() == null) {
+            return sort;
+        }
+        return Sort.by(Sort.Order.asc("completed")).and(sort);
+    }
+
+    /**
+     * sort 파라미터를 해석한다. 없으면 id 역순이고, 허용하지 않는 값이면 Bad Request 를 던진다.
+     */
+    public static TodoSort from(String value) {
+        if (value == null || value.isEmpty()) {
+            return ID_DESC;
+        }
+        for (TodoSort todoSort : values()) {
+            if (todoSort.value.equalsIgnoreCase(value)) {
+                return todoSort;
+            }
+        }
+        throw new BusinessException(ErrorCode.BAD_REQUEST);
+    }
+}
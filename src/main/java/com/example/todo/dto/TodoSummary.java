@@ -0,0 +1,20 @@
+package com.example.todo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 응답에 필요한 컬럼만 담는 조회 전용 프로젝션. JPQL 생성자 표현식(select new)과
+ * Criteria construct 로 바로 만들어지므로 엔티티가 영속성 컨텍스트에 올라가지 않는다.
+ * (스냅샷, 더티 체킹, 쓰지 않는 createdAt/updatedAt 이 없다)
+ */
+@Getter
+@AllArgsConstructor
+public class TodoSummary {
+    private final Long id;
+    private final String name;
+    private final Boolean completed;
+    private final LocalDateTime completedAt;
+}
@@ -0,0 +1,124 @@
+package com.example.todo.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * 목록 항목의 url(baseUrl + id). 문자열을 미리 만들지 않고 공유하는 Base 와 id 만 들고 있다가,
+ * 직렬화할 때 이스케이프해 둔 baseUrl 과 id 숫자를 출력 버퍼에 바로 쓴다.
+ */
+@JsonSerialize(using = TodoUrl.Serializer.class)
+public final class TodoUrl implements CharSequence {
+
+    public static final String TEMPLATE_ID = "{id}";
+
+    private final Base base;
+    private final long id;
+
+    private TodoUrl(Base base, long id) {
+        this.base = base;
+        this.id = id;
+    }
+
+    public static Base base(String baseUrl) {
+        return new Base(baseUrl);
+    }
+
+    @Override
+    public int length() {
+        return toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return base.value + id;
+    }
+
+    /**
+     * 설정된 baseUrl. JSON 으로 쓸 앞부분("baseUrl)을 한 번만 이스케이프해 둔다.
+     */
+    public static final class Base {
+        private final String value;
+        private final char[] jsonPrefix;
+
+        private Base(String value) {
+            this.value = value;
+            char[] escaped = JsonStringEncoder.getInstance().quoteAsString(value);
+            this.jsonPrefix = new char[escaped.length + 1];
+            this.jsonPrefix[0] = '"';
+            System.arraycopy(escaped, 0, this.jsonPrefix, 1, escaped.length);
+        }
+
+        public TodoUrl of(long id) {
+            return new TodoUrl(this, id);
+        }
+
+        /** url_mode=template 일 때 내려주는 항목 url 템플릿 */
+        public String template() {
+            return value + TEMPLATE_ID;
+        }
+    }
+
+    static class Serializer extends StdSerializer<TodoUrl> {
+
+        // 따옴표 + baseUrl + id(최대 20자리) + 따옴표. baseUrl 이 길면 늘린다.
+        private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[256]);
+
+        Serializer() {
+            super(TodoUrl.class);
+        }
+
+        @Override
+        public void serialize(TodoUrl url, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] prefix = url.base.jsonPrefix;
+            char[] buffer = BUFFER.get();
+            if (buffer.length < prefix.length + 21) {
+                buffer = new char[prefix.length + 21];
+                BUFFER.set(buffer);
+            }
+            System.arraycopy(prefix, 0, buffer, 0, prefix.length);
+            int length = writeDigits(url.id, buffer, prefix.length);
+            buffer[length++] = '"';
+            generator.writeRawValue(buffer, 0, length);
+        }
+
+        private static int writeDigits(long value, char[] buffer, int offset) {
+            if (value < 0) {
+                String digits = Long.toString(value);
+                digits.getChars(0, digits.length(), buffer, offset);
+                return offset + digits.length();
+            }
+            int end = offset + digitCount(value);
+            int position = end;
+            do {
+                buffer[--position] = (char) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            return end;
+        }
+
+        private static int digitCount(long value) {
+            int count = 1;
+            while (value >= 10) {
+                value /= 10;
+                count++;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.todo.dto;
+
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+
+/**
+ * 목록 항목 url 을 내려주는 방식. url_mode 파라미터나 X-Url-Mode 헤더로 고른다.
+ * <ul>
+ *     <li>inline(기본): 항목마다 url 을 쓴다.</li>
+ *     <li>template: 항목에는 url 을 쓰지 않고 X-Url-Template 헤더로 템플릿({id})만 한 번 내려준다.</li>
+ * </ul>
+ */
+public enum TodoUrlMode {
+    INLINE, TEMPLATE;
+
+    public static TodoUrlMode from(String value) {
+        if (value == null || value.isEmpty()) {
+            return INLINE;
+        }
+        for (TodoUrlMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new BusinessException(ErrorCode.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.todo.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * API 키. 원문 대신 SHA-256 해시(hex)만 저장한다. 스키마는 V3__create_api_key.sql 이 만든다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ApiKey {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    private String keyHash;
+
+    private boolean enabled;
+
+    public static ApiKey of(String name, String keyHash) {
+        ApiKey apiKey = new ApiKey();
+        apiKey.name = name;
+        apiKey.keyHash = keyHash;
+        apiKey.enabled = true;
+        return apiKey;
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.todo.entity;
 
+import com.example.todo.config.HibernateCacheConfig;
+import com.example.todo.dto.TodoPatchRequest;
 import com.example.todo.dto.TodoRequest;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,10 +20,15 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode
 @NoArgsConstructor
 @AllArgsConstructor
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TODO_REGION)
 @EntityListeners(AuditingEntityListener.class)
+// 스키마는 db/migration 의 Flyway 마이그레이션이 만든다. 인덱스는 TodoIndexVerifier 가 시작할 때 확인한다.
 public class Todo {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_seq")
+    @SequenceGenerator(name = "todo_seq", sequenceName = "todo_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -34,11 +44,26 @@ public class Todo {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     public void update(TodoRequest updatedTodo) {
         this.name = updatedTodo.getName();
-        this.completed = updatedTodo.getCompleted();
-        if (completed) {
+        this.completed = Boolean.TRUE.equals(updatedTodo.getCompleted());
+        if (Boolean.TRUE.equals(completed)) {
             completedAt = LocalDateTime.now();
         }
     }
+
+    public void patch(TodoPatchRequest patch) {
+        if (patch.hasName()) {
+            this.name = patch.getName();
+        }
+        if (patch.hasCompleted()) {
+            this.completed = patch.getCompleted();
+            if (completed) {
+                completedAt = LocalDateTime.now();
+            }
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package com.example.todo.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key 로 생성한 todo 의 응답. 재시도에는 지금의 todo 가 아니라 처음 응답을 그대로 돌려주므로 응답 필드를 복사해 둔다.
+ * 스키마는 V4__create_todo_idempotency.sql 이 만든다.
+ */
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TodoIdempotency {
+    @Id
+    private String idempotencyKey;
+
+    private String requestHash;
+
+    private Long todoId;
+
+    private String name;
+
+    private Boolean completed;
+
+    private LocalDateTime completedAt;
+
+    private LocalDateTime todoCreatedAt;
+
+    private LocalDateTime todoUpdatedAt;
+
+    private Long todoVersion;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,122 @@
+package com.example.todo.idempotency;
+
+import com.example.todo.dto.TodoDto;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * POST /todos 의 Idempotency-Key 처리. 클라이언트(API 키 이름)와 키가 같은 요청은 처음 한 번만 생성하고,
+ * 그 응답을 todo.idempotency.ttl 동안 최대 todo.idempotency.max-size 개까지 메모리에 두어 재시도에 그대로 돌려준다.
+ * 처음 요청이 처리 중이면 같은 future 를 기다리므로 동시에 온 재시도도 insert 는 한 번만 한다.
+ */
+@Component
+public class IdempotencyCache {
+
+    public static final String METRIC_NAME = "todo.idempotency.requests";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final AsyncCache<String, IdempotentResponse> responses;
+    private final IdempotencyStore store;
+
+    private final Counter created = counter("created");
+    private final Counter replayed = counter("replayed");
+    private final Counter coalesced = counter("coalesced");
+    private final Counter mismatched = counter("mismatched");
+
+    public IdempotencyCache(ObjectProvider<IdempotencyStore> store,
+                            @Value("${todo.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${todo.idempotency.max-size:100000}") long maxSize) {
+        this.store = store.getIfAvailable();
+        // 처리 중인(완료되지 않은) future 는 만료되지 않고, 실패한 future 는 Caffeine 이 바로 지운다.
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    /**
+     * 같은 키로 처음 온 요청만 create 를 실행한다. 실패하면 키를 지워 다음 재시도가 다시 실행하게 한다.
+     * 같은 키로 본문이 다른 요청을 보내면 422.
+     */
+    public TodoDto execute(String client, String idempotencyKey, TodoRequest request, Supplier<TodoDto> create) {
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST);
+        }
+        // 이름에 구분자가 들어 있어도 다른 클라이언트의 키와 겹치지 않게 길이를 앞에 둔다.
+        String key = client == null ? idempotencyKey : client.length() + ":" + client + ":" + idempotencyKey;
+        String requestHash = fingerprint(request);
+
+        CompletableFuture<IdempotentResponse> pending = new CompletableFuture<>();
+        CompletableFuture<IdempotentResponse> existing = responses.asMap().putIfAbsent(key, pending);
+        IdempotentResponse response;
+        if (existing == null) {
+            response = run(key, requestHash, create, pending);
+        } else {
+            (existing.isDone() ? replayed : coalesced).increment();
+            response = await(existing);
+        }
+        if (!response.getRequestHash().equals(requestHash)) {
+            mismatched.increment();
+            throw new BusinessException(ErrorCode.UNPROCESSABLE_ENTITY);
+        }
+        return response.getResponse();
+    }
+
+    private IdempotentResponse run(String key, String requestHash, Supplier<TodoDto> create,
+                                   CompletableFuture<IdempotentResponse> pending) {
+        try {
+            IdempotentResponse response = store == null ? null : store.find(key).orElse(null);
+            if (response != null) {
+                replayed.increment();
+            } else {
+                response = store == null
+                        ? new IdempotentResponse(requestHash, create.get())
+                        : store.save(key, requestHash, create);
+                created.increment();
+            }
+            pending.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            responses.asMap().remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static IdempotentResponse await(CompletableFuture<IdempotentResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // 처음 요청이 받은 예외(404, 400 등)를 그대로 돌려준다.
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    static String fingerprint(TodoRequest request) {
+        return DigestUtils.md5DigestAsHex(
+                (request.getName() + "\n" + request.getCompleted()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Counter counter(String result) {
+        return Metrics.counter(METRIC_NAME, "result", result);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.todo.idempotency;
+
+import com.example.todo.dto.TodoDto;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 메모리 캐시에서 밀려나거나 재시작한 뒤에도 재시도를 알아보도록 응답을 저장하는 곳.
+ * todo.idempotency.store=jpa 일 때만 있다. 없으면 메모리 캐시만 쓴다.
+ */
+public interface IdempotencyStore {
+
+    String PROPERTY = "todo.idempotency.store";
+
+    Optional<IdempotentResponse> find(String key);
+
+    /**
+     * create 와 응답 저장을 한 트랜잭션으로 처리한다. 다른 노드가 같은 키를 먼저 저장했으면 create 를 롤백하고 그 응답을 돌려준다.
+     */
+    IdempotentResponse save(String key, String requestHash, Supplier<TodoDto> create);
+}
@@ -0,0 +1,15 @@
+package com.example.todo.idempotency;
+
+import com.example.todo.dto.TodoDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Idempotency-Key 로 처리한 생성 요청의 응답. 같은 키로 본문이 다른 요청을 구분하려고 요청 지문을 함께 둔다.
+ */
+@Getter
+@AllArgsConstructor
+public class IdempotentResponse {
+    private final String requestHash;
+    private final TodoDto response;
+}
@@ -0,0 +1,120 @@
+package com.example.todo.idempotency;
+
+import com.example.todo.dto.TodoDto;
+import com.example.todo.entity.TodoIdempotency;
+import com.example.todo.repository.TodoIdempotencyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * todo_idempotency 테이블에 응답을 둔다. 키가 기본 키이므로 여러 노드가 같은 키로 동시에 생성해도 하나만 커밋된다.
+ * ttl 이 지난 행은 찾지 않고, todo.idempotency.purge-interval 마다 지운다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = IdempotencyStore.PROPERTY, havingValue = "jpa")
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private final TodoIdempotencyRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration purgeInterval;
+
+    private ScheduledExecutorService purger;
+
+    public JpaIdempotencyStore(TodoIdempotencyRepository repository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${todo.idempotency.ttl:24h}") Duration ttl,
+                               // 0 이면 지우지 않는다.
+                               @Value("${todo.idempotency.purge-interval:1h}") Duration purgeInterval) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.purgeInterval = purgeInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        if (purgeInterval.isZero()) {
+            return;
+        }
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-idempotency-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        purger.scheduleWithFixedDelay(() -> {
+            try {
+                purge();
+            } catch (RuntimeException e) {
+                log.warn("todo idempotency purge failed", e);
+            }
+        }, purgeInterval.toMillis(), purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        return repository.findCreatedAfter(key, expiredBefore()).map(JpaIdempotencyStore::toResponse);
+    }
+
+    @Override
+    public IdempotentResponse save(String key, String requestHash, Supplier<TodoDto> create) {
+        try {
+            return transactionTemplate.execute(status -> {
+                // 만료된 같은 키가 남아 있으면 기본 키가 겹치므로 먼저 지운다.
+                repository.deleteCreatedBefore(key, expiredBefore());
+                TodoDto todo = create.get();
+                repository.insert(key, requestHash, todo, LocalDateTime.now());
+                return new IdempotentResponse(requestHash, todo);
+            });
+        } catch (DataIntegrityViolationException e) {
+            return find(key).orElseThrow(() -> e);
+        }
+    }
+
+    int purge() {
+        int purged = transactionTemplate.execute(status -> repository.deleteAllCreatedBefore(expiredBefore()));
+        if (purged > 0) {
+            log.info("todo idempotency keys purged: {}", purged);
+        }
+        return purged;
+    }
+
+    private LocalDateTime expiredBefore() {
+        return LocalDateTime.now().minus(ttl);
+    }
+
+    private static IdempotentResponse toResponse(TodoIdempotency idempotency) {
+        return new IdempotentResponse(idempotency.getRequestHash(), TodoDto.builder()
+                .id(idempotency.getTodoId())
+                .name(idempotency.getName())
+                .completed(idempotency.getCompleted())
+                .completedAt(idempotency.getCompletedAt())
+                .createdAt(idempotency.getTodoCreatedAt())
+                .updatedAt(idempotency.getTodoUpdatedAt())
+                .version(idempotency.getTodoVersion())
+                .build());
+    }
+}
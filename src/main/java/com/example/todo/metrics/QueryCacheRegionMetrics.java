@@ -0,0 +1,48 @@
+package com.example.todo.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * 쿼리 캐시 리전별 적중/누락/저장 수. hibernate-micrometer 는 엔티티 리전만 리전별로 나누고 쿼리 캐시는 합계만 낸다.
+ */
+public class QueryCacheRegionMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+    private final List<String> regions;
+
+    public QueryCacheRegionMetrics(Statistics statistics, List<String> regions) {
+        this.statistics = statistics;
+        this.regions = regions;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : regions) {
+            counter("hibernate.cache.query.region.requests", region, CacheRegionStatistics::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            counter("hibernate.cache.query.region.requests", region, CacheRegionStatistics::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            counter("hibernate.cache.query.region.puts", region, CacheRegionStatistics::getPutCount)
+                    .register(registry);
+        }
+    }
+
+    private FunctionCounter.Builder<Statistics> counter(String name, String region,
+                                                        ToLongFunction<CacheRegionStatistics> count) {
+        return FunctionCounter.builder(name, statistics, stats -> {
+                    // 리전 통계는 그 리전을 처음 쓸 때 생긴다.
+                    CacheRegionStatistics regionStatistics = stats.getQueryRegionStatistics(region);
+                    return regionStatistics == null ? 0 : count.applyAsLong(regionStatistics);
+                })
+                .tag("region", region);
+    }
+}
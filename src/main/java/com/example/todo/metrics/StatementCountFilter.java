@@ -0,0 +1,70 @@
+package com.example.todo.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+/**
+ * 요청 하나가 실행한 SQL 문 수를 todo.http.statements 로 남긴다. (태그: method, uri)
+ * 비동기로 시작한 요청은 비동기 디스패치가 끝날 때 남긴다. 핸들러가 다른 실행기에서 돌면 {@link #counted} 로 감싸
+ * 그 스레드에서 센 수를 요청 속성으로 넘겨받는다. 감싸지 않는 전체 목록 스트리밍의 조회는 잡히지 않는다.
+ */
+@Component
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "todo.http.statements";
+    public static final String COUNT_ATTRIBUTE = StatementCountFilter.class.getName() + ".COUNT";
+
+    /**
+     * 다른 스레드에서 실행할 핸들러 호출을 감싸 그 스레드에서 실행한 SQL 문 수를 요청 속성에 더한다.
+     */
+    public static <T> Callable<T> counted(HttpServletRequest request, Callable<T> callable) {
+        return () -> {
+            StatementCounter.reset();
+            try {
+                return callable.call();
+            } finally {
+                request.setAttribute(COUNT_ATTRIBUTE, offloadedCount(request) + StatementCounter.count());
+            }
+        };
+    }
+
+    private static int offloadedCount(HttpServletRequest request) {
+        Object count = request.getAttribute(COUNT_ATTRIBUTE);
+        return count == null ? 0 : (int) count;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                record(request);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Metrics.summary(METRIC_NAME,
+                "method", request.getMethod(),
+                "uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .record(offloadedCount(request) + StatementCounter.count());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.todo.ratelimit;
+
+import com.example.todo.auth.ApiKeyFilter;
+import com.example.todo.auth.ApiKeyRegistry;
+import com.example.todo.response.exception.RateLimitedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 조회(GET/HEAD)와 쓰기를 따로 제한한다. 클라이언트는 확인된 API 키 이름으로 구분하고, 키가 없거나 등록되지 않은 키이면
+ * 원격 주소로 구분한다. (아무 apikey 값이나 바꿔 보내 새 버킷을 받지 못하게 한다)
+ * 넘치면 RateLimitedException 을 던져 GlobalExceptionHandler 가 429 + Retry-After 로 응답한다.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String METRIC_NAME = "todo.rate.limit.rejected";
+
+    private final RateLimiter readLimiter;
+    private final RateLimiter writeLimiter;
+    private final ApiKeyRegistry apiKeyRegistry;
+    private final Counter readRejected = Metrics.counter(METRIC_NAME, "class", "read");
+    private final Counter writeRejected = Metrics.counter(METRIC_NAME, "class", "write");
+
+    public RateLimitInterceptor(RateLimiter readLimiter, RateLimiter writeLimiter, ApiKeyRegistry apiKeyRegistry) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.apiKeyRegistry = apiKeyRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 비동기 처리가 끝난 뒤의 디스패치는 같은 요청이므로 다시 세지 않는다.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        boolean read = method == HttpMethod.GET || method == HttpMethod.HEAD;
+        long waitMillis = (read ? readLimiter : writeLimiter).tryAcquire(clientOf(request));
+        if (waitMillis > 0) {
+            (read ? readRejected : writeRejected).increment();
+            throw new RateLimitedException(waitMillis);
+        }
+        return true;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        // 쓰기 요청은 ApiKeyFilter 가 이미 확인했다.
+        Object keyName = request.getAttribute(ApiKeyFilter.KEY_NAME_ATTRIBUTE);
+        if (keyName != null) {
+            return (String) keyName;
+        }
+        String apikey = request.getHeader(ApiKeyFilter.HEADER);
+        if (apikey != null && !apikey.isEmpty()) {
+            String name = apiKeyRegistry.authenticate(apikey).orElse(null);
+            if (name != null) {
+                return name;
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
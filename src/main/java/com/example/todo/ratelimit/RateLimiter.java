@@ -0,0 +1,44 @@
+package com.example.todo.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * 클라이언트별 토큰 버킷. 버킷은 최대 maxKeys 개까지 두고, idleTimeout 동안 쓰지 않으면 버린다.
+ * 버려진 뒤 다시 오면 가득 찬 버킷으로 시작하므로 idleTimeout 은 burst 를 다 채우는 시간보다 길어야 한다.
+ */
+public class RateLimiter {
+
+    private final long ratePerSecond;
+    private final long burst;
+    private final Cache<String, TokenBucket> buckets;
+    // 버킷 시각은 40비트 ms 이므로 시작 시각 기준으로 잰다.
+    private final long epochNanos = System.nanoTime();
+
+    public RateLimiter(long ratePerSecond, long burst, Duration idleTimeout, long maxKeys) {
+        if (ratePerSecond <= 0 || burst <= 0 || burst > TokenBucket.MAX_BURST) {
+            throw new IllegalArgumentException("rate must be positive and burst must be in 1.." + TokenBucket.MAX_BURST
+                    + ": rate=" + ratePerSecond + ", burst=" + burst);
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * 허용하면 0, 아니면 다시 시도할 수 있을 때까지의 ms.
+     */
+    public long tryAcquire(String client) {
+        long now = (System.nanoTime() - epochNanos) / 1_000_000;
+        TokenBucket bucket = buckets.getIfPresent(client);
+        if (bucket == null) {
+            bucket = buckets.get(client, key -> new TokenBucket(ratePerSecond, burst, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+}
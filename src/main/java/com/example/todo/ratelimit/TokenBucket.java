@@ -0,0 +1,55 @@
+package com.example.todo.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 잠그지 않는 토큰 버킷. 마지막으로 채운 시각(ms, 상위 40비트)과 남은 토큰(1/1000 개 단위, 하위 24비트)을
+ * long 하나에 넣고 CAS 로 바꾼다. 토큰이 모자라 거절할 때는 상태를 바꾸지 않는다.
+ */
+class TokenBucket {
+
+    static final long SCALE = 1000;
+    // 1/1000 개 단위로 24비트이므로 burst 는 16777 개까지
+    static final long MAX_BURST = ((1L << 24) - 1) / SCALE;
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    private final long ratePerSecond;
+    private final long capacity;
+    private final AtomicLong state;
+
+    TokenBucket(long ratePerSecond, long burst, long nowMillis) {
+        this.ratePerSecond = ratePerSecond;
+        this.capacity = burst * SCALE;
+        this.state = new AtomicLong(pack(nowMillis, capacity));
+    }
+
+    /**
+     * 토큰 하나를 쓸 수 있으면 0, 아니면 다음 토큰이 찰 때까지의 ms.
+     * 초당 r 개는 ms 당 r/1000 개, 즉 1/1000 개 단위로 ms 당 r 개가 찬다.
+     */
+    long tryAcquire(long nowMillis) {
+        while (true) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long tokens = current & TOKEN_MASK;
+            long elapsed = Math.max(0, nowMillis - last);
+            long available = elapsed >= capacity / ratePerSecond + 1
+                    ? capacity
+                    : Math.min(capacity, tokens + elapsed * ratePerSecond);
+            if (available < SCALE) {
+                return (SCALE - available + ratePerSecond - 1) / ratePerSecond;
+            }
+            // 다른 스레드가 더 늦은 시각으로 바꿔 두었으면 그 시각을 유지한다.
+            if (state.compareAndSet(current, pack(Math.max(nowMillis, last), available - SCALE))) {
+                return 0;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static long pack(long millis, long tokens) {
+        return (millis << TOKEN_BITS) | tokens;
+    }
+}
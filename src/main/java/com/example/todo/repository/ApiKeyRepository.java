@@ -0,0 +1,16 @@
+package com.example.todo.repository;
+
+import com.example.todo.entity.ApiKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+
+    @Query("select k.name from ApiKey k where k.keyHash = :keyHash and k.enabled = true")
+    Optional<String> findEnabledName(@Param("keyHash") String keyHash);
+
+    boolean existsByKeyHash(String keyHash);
+}
@@ -0,0 +1,36 @@
+package com.example.todo.repository;
+
+import com.example.todo.dto.TodoDto;
+import com.example.todo.entity.TodoIdempotency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface TodoIdempotencyRepository extends JpaRepository<TodoIdempotency, String> {
+
+    @Query("select i from TodoIdempotency i where i.idempotencyKey = :key and i.createdAt >= :after")
+    Optional<TodoIdempotency> findCreatedAfter(@Param("key") String key, @Param("after") LocalDateTime after);
+
+    /**
+     * 키가 이미 있으면 기본 키 위반으로 실패한다. save() 는 id 가 있는 엔티티를 merge 하므로 쓰지 않는다.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into todo_idempotency (idempotency_key, request_hash, todo_id, name, "
+            + "completed, completed_at, todo_created_at, todo_updated_at, todo_version, created_at) "
+            + "values (:key, :requestHash, :#{#todo.id}, :#{#todo.name}, :#{#todo.completed}, :#{#todo.completedAt}, "
+            + ":#{#todo.createdAt}, :#{#todo.updatedAt}, :#{#todo.version}, :createdAt)")
+    void insert(@Param("key") String key, @Param("requestHash") String requestHash, @Param("todo") TodoDto todo,
+                @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("delete from TodoIdempotency i where i.idempotencyKey = :key and i.createdAt < :before")
+    int deleteCreatedBefore(@Param("key") String key, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("delete from TodoIdempotency i where i.createdAt < :before")
+    int deleteAllCreatedBefore(@Param("before") LocalDateTime before);
+}
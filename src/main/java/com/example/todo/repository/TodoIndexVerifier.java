@@ -0,0 +1,90 @@
+package com.example.todo.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 목록/필터 쿼리가 기대하는 인덱스가 todo 테이블에 있는지 시작할 때 확인한다.
+ * 없으면 데이터가 많아졌을 때 전체 스캔이 되므로 기동을 멈춘다. (todo.schema.verify-indexes=false 로 끌 수 있다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "todo.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class TodoIndexVerifier implements ApplicationRunner {
+
+    private static final String TABLE = "todo";
+
+    // 인덱스의 앞쪽 컬럼들. 내림차순 컬럼은 " desc" 를 붙인다.
+    static final List<List<String>> EXPECTED_INDEXES = List.of(
+            List.of("completed", "id desc"),
+            List.of("updated_at"),
+            List.of("id desc"),
+            List.of("created_at", "id"),
+            List.of("created_at desc", "id desc"),
+            List.of("completed", "created_at desc", "id desc"),
+            List.of("name", "id"));
+
+    private final DataSource dataSource;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        List<List<String>> missing = findMissingIndexes();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("todo 테이블에 필요한 인덱스가 없습니다: " + missing
+                    + ". db/migration 의 마이그레이션이 적용되었는지 확인하세요.");
+        }
+        log.info("todo indexes verified: {}", EXPECTED_INDEXES);
+    }
+
+    List<List<String>> findMissingIndexes() throws SQLException {
+        List<List<String>> existing = readIndexes();
+        return EXPECTED_INDEXES.stream()
+                .filter(expected -> existing.stream().noneMatch(columns -> startsWith(columns, expected)))
+                .collect(Collectors.toList());
+    }
+
+    private List<List<String>> readIndexes() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase(Locale.ROOT) : TABLE;
+            Map<String, TreeMap<Short, String>> indexes = new HashMap<>();
+            try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, false)) {
+                while (resultSet.next()) {
+                    String index = resultSet.getString("INDEX_NAME");
+                    String column = resultSet.getString("COLUMN_NAME");
+                    if (index == null || column == null) {
+                        continue;
+                    }
+                    String order = "D".equals(resultSet.getString("ASC_OR_DESC")) ? " desc" : "";
+                    indexes.computeIfAbsent(index, name -> new TreeMap<>())
+                            .put(resultSet.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT) + order);
+                }
+            }
+            return indexes.values().stream()
+                    .map(columns -> new ArrayList<>(columns.values()))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private boolean startsWith(List<String> columns, List<String> prefix) {
+        return columns.size() >= prefix.size() && columns.subList(0, prefix.size()).equals(prefix);
+    }
+}
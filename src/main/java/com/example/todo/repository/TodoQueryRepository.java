@@ -0,0 +1,17 @@
+package com.example.todo.repository;
+
+import com.example.todo.dto.TodoSummary;
+import com.example.todo.entity.Todo;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TodoQueryRepository {
+
+    /**
+     * 조건에 맞는 한 페이지만 목록 컬럼으로 조회한다. JpaSpecificationExecutor 의 Page 와 달리
+     * count 쿼리를 실행하지 않아 큰 테이블에서도 인덱스 범위만 읽는다.
+     */
+    List<TodoSummary> findPage(Specification<Todo> specification, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,51 @@
+package com.example.todo.repository;
+
+import com.example.todo.config.HibernateCacheConfig;
+import com.example.todo.dto.TodoSummary;
+import com.example.todo.entity.Todo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
+@RequiredArgsConstructor
+class TodoQueryRepositoryImpl implements TodoQueryRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TodoSummary> findPage(Specification<Todo> specification, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TodoSummary> query = cb.createQuery(TodoSummary.class);
+        Root<Todo> root = query.from(Todo.class);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.select(cb.construct(TodoSummary.class,
+                        root.get("id"), root.get("name"), root.get("completed"), root.get("completedAt")))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+        TypedQuery<TodoSummary> typedQuery = entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit);
+        if (offset == 0) {
+            // 첫 페이지만 쿼리 캐시에 둔다. 깊은 페이지까지 두면 리전이 거의 다시 읽히지 않는 결과로 찬다.
+            typedQuery.setHint(HINT_CACHEABLE, true)
+                    .setHint(HINT_CACHE_REGION, HibernateCacheConfig.LIST_REGION);
+        }
+        return typedQuery.getResultList();
+    }
+}
@@ -1,16 +1,54 @@
 package com.example.todo.repository;
 
+import com.example.todo.config.HibernateCacheConfig;
+import com.example.todo.dto.TodoCounts;
+import com.example.todo.dto.TodoListVersion;
+import com.example.todo.dto.TodoSummary;
 import com.example.todo.entity.Todo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
-import org.springframework.transaction.annotation.Transactional;
 
-public interface TodoRepository extends JpaRepository<Todo, Long> {
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
 
-    @Transactional
-    @Modifying
-    @Query("delete from Todo t where t.id = :id")
-    void deleteById(@Param("id") Long id);
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface TodoRepository extends JpaRepository<Todo, Long>, JpaSpecificationExecutor<Todo>, TodoQueryRepository {
+
+    @Query("select new com.example.todo.dto.TodoSummary(t.id, t.name, t.completed, t.completedAt) "
+            + "from Todo t where t.id < :cursor order by t.id desc")
+    List<TodoSummary> findAllAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+    /**
+     * 커서 없는 첫 페이지. todo 테이블이 바뀌기 전까지 쿼리 캐시에서 돌려준다.
+     */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = HibernateCacheConfig.LIST_REGION)})
+    @Query("select new com.example.todo.dto.TodoSummary(t.id, t.name, t.completed, t.completedAt) "
+            + "from Todo t order by t.id desc")
+    List<TodoSummary> findFirstPage(Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = HibernateCacheConfig.LIST_REGION)})
+    @Query("select count(t) as count, max(t.updatedAt) as lastUpdatedAt from Todo t")
+    TodoListVersion findListVersion();
+
+    /**
+     * 개수를 다시 셀 때만 쓴다. 목록은 {@link com.example.todo.store.TodoCounter} 가 유지하는 값을 읽는다.
+     */
+    @Query("select new com.example.todo.dto.TodoCounts(count(t), "
+            + "coalesce(sum(case when t.completed = true then 1 else 0 end), 0)) from Todo t")
+    TodoCounts countTotals();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.todo.dto.TodoSummary(t.id, t.name, t.completed, t.completedAt) "
+            + "from Todo t order by t.id desc")
+    Stream<TodoSummary> streamAll();
 }
@@ -0,0 +1,46 @@
+package com.example.todo.repository;
+
+import com.example.todo.dto.TodoListFilter;
+import com.example.todo.entity.Todo;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 조회 조건을 Specification 으로 만든다. 조건마다 인덱스(V2 마이그레이션)가 있다.
+ */
+public final class TodoSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TodoSpecifications() {
+    }
+
+    public static Specification<Todo> of(TodoListFilter filter) {
+        return Specification.where(completed(filter.getCompleted()))
+                .and(createdAfter(filter.getCreatedAfter()))
+                .and(createdBefore(filter.getCreatedBefore()))
+                .and(namePrefix(filter.getName()));
+    }
+
+    static Specification<Todo> completed(Boolean completed) {
+        return completed == null ? null : (root, query, cb) -> cb.equal(root.get("completed"), completed);
+    }
+
+    static Specification<Todo> createdAfter(LocalDateTime createdAfter) {
+        return createdAfter == null ? null : (root, query, cb) -> cb.greaterThan(root.get("createdAt"), createdAfter);
+    }
+
+    static Specification<Todo> createdBefore(LocalDateTime createdBefore) {
+        return createdBefore == null ? null : (root, query, cb) -> cb.lessThan(root.get("createdAt"), createdBefore);
+    }
+
+    // like 'prefix%' 만 인덱스를 탈 수 있으므로 앞부분 검색만 지원한다.
+    static Specification<Todo> namePrefix(String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+        String pattern = name.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("name"), pattern, LIKE_ESCAPE);
+    }
+}
@@ -7,7 +7,12 @@ public enum ErrorCode {
     BAD_REQUEST(400, "Bad Request"),
     NOT_FOUND(404,  "Not Found"),
     UNAUTHORIZED(401, "Not Authorized"),
-    INTERNAL_SERVER_ERROR(500, "Server Error");
+    CONFLICT(409, "Conflict"),
+    PRECONDITION_FAILED(412, "Precondition Failed"),
+    UNPROCESSABLE_ENTITY(422, "Unprocessable Entity"),
+    TOO_MANY_REQUESTS(429, "Too Many Requests"),
+    INTERNAL_SERVER_ERROR(500, "Server Error"),
+    SERVICE_UNAVAILABLE(503, "Service Unavailable");
 
     private final String message;
     private final int status;
@@ -0,0 +1,51 @@
+package com.example.todo.response;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ErrorCode 별로 interval 에 한 번만 경고 로그를 남기게 한다. 그 사이에 건너뛴 수는 다음 로그에 붙인다.
+ */
+public class ErrorLogSampler {
+
+    private final long intervalNanos;
+    private final Map<ErrorCode, Window> windows = new EnumMap<>(ErrorCode.class);
+
+    public ErrorLogSampler(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        long now = System.nanoTime();
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            windows.put(errorCode, new Window(now));
+        }
+    }
+
+    /**
+     * 지금 로그를 남겨도 되면 지난 로그 이후 건너뛴 수를, 아니면 -1 을 돌려준다.
+     */
+    public long tryAcquire(ErrorCode errorCode) {
+        // 간격이 0 이면 CAS 에 진 호출도 건너뛰지 않는다.
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        Window window = windows.get(errorCode);
+        long now = System.nanoTime();
+        long next = window.nextLogAt.get();
+        if (now - next < 0 || !window.nextLogAt.compareAndSet(next, now + intervalNanos)) {
+            window.skipped.increment();
+            return -1;
+        }
+        return window.skipped.sumThenReset();
+    }
+
+    private static class Window {
+        private final AtomicLong nextLogAt;
+        private final LongAdder skipped = new LongAdder();
+
+        private Window(long now) {
+            this.nextLogAt = new AtomicLong(now);
+        }
+    }
+}
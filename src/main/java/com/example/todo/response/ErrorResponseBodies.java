@@ -0,0 +1,59 @@
+package com.example.todo.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * ErrorCode 별 에러 응답 본문을 시작할 때 한 번만 JSON 으로 만들어 둔다. 응답마다 ErrorResponse 를 만들어 직렬화하지 않는다.
+ */
+public class ErrorResponseBodies {
+
+    private static final HttpHeaders JSON = HttpHeaders.readOnlyHttpHeaders(jsonHeaders());
+
+    private final Map<ErrorCode, byte[]> bodies = new EnumMap<>(ErrorCode.class);
+
+    public ErrorResponseBodies(ObjectMapper objectMapper) {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            try {
+                bodies.put(errorCode, objectMapper.writeValueAsBytes(new ErrorResponse(errorCode)));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 본문 배열은 공유하므로 바꾸면 안 된다.
+     */
+    public byte[] bodyOf(ErrorCode errorCode) {
+        return bodies.get(errorCode);
+    }
+
+    public ResponseEntity<byte[]> toResponse(ErrorCode errorCode) {
+        return new ResponseEntity<>(bodies.get(errorCode), JSON, HttpStatus.valueOf(errorCode.getStatus()));
+    }
+
+    /**
+     * Retry-After 처럼 응답마다 다른 헤더를 함께 보낸다.
+     */
+    public ResponseEntity<byte[]> toResponse(ErrorCode errorCode, HttpHeaders headers) {
+        HttpHeaders merged = new HttpHeaders();
+        merged.putAll(JSON);
+        merged.putAll(headers);
+        return new ResponseEntity<>(bodies.get(errorCode), merged, HttpStatus.valueOf(errorCode.getStatus()));
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+}
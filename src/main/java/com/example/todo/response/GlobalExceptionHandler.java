@@ -1,53 +1,127 @@
 package com.example.todo.response;
 
 import com.example.todo.response.exception.BusinessException;
+import com.example.todo.response.exception.RateLimitedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 에러 응답은 ErrorCode 별로 미리 만들어 둔 JSON 본문과 카운터를 쓴다.
+ * 예상된 에러의 경고 로그는 todo.errors.log-interval 마다 ErrorCode 별로 한 번만 남긴다.
+ */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    public static final String ERROR_METRIC = "todo.errors";
+
+    private final ErrorResponseBodies bodies;
+    private final ErrorLogSampler logSampler;
+    private final Map<ErrorCode, Counter> counters = new EnumMap<>(ErrorCode.class);
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper,
+                                  // 0 이면 모두 남긴다.
+                                  @Value("${todo.errors.log-interval:1s}") Duration logInterval) {
+        this.bodies = new ErrorResponseBodies(objectMapper);
+        this.logSampler = new ErrorLogSampler(logInterval);
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            counters.put(errorCode, Metrics.counter(ERROR_METRIC, "code", errorCode.name(), "status", String.valueOf(errorCode.getStatus())));
+        }
+    }
+
     @ExceptionHandler({BusinessException.class})
-    protected ResponseEntity<ErrorResponse> handleBusinessException(BusinessException exception) {
-        log.warn(exception.getMessage());
+    protected ResponseEntity<byte[]> handleBusinessException(BusinessException exception) {
         ErrorCode errorCode = exception.getErrorCode();
-        return new ResponseEntity(new ErrorResponse(errorCode), HttpStatus.valueOf(errorCode.getStatus()));
+        warn(errorCode, exception.getMessage());
+        return toResponse(errorCode);
+    }
+
+    @ExceptionHandler({RateLimitedException.class})
+    protected ResponseEntity<byte[]> handleRateLimitedException(RateLimitedException exception) {
+        ErrorCode errorCode = exception.getErrorCode();
+        warn(errorCode, exception.getMessage());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()));
+        return toResponse(errorCode, headers);
     }
 
     @ExceptionHandler({Exception.class})
-    protected ResponseEntity<ErrorResponse> handleException(Exception exception) {
+    protected ResponseEntity<byte[]> handleException(Exception exception) {
         log.warn(exception.getMessage());
         ErrorCode errorCode = ErrorCode.INTERNAL_SERVER_ERROR;
-        return new ResponseEntity(new ErrorResponse(errorCode), HttpStatus.valueOf(errorCode.getStatus()));
+        return toResponse(errorCode);
     }
 
     @ExceptionHandler({NoHandlerFoundException.class, MethodArgumentNotValidException.class})
-    protected ResponseEntity<ErrorResponse> handleNotFoundException(NoHandlerFoundException exception) {
-        log.warn(exception.getMessage());
+    protected ResponseEntity<byte[]> handleNotFoundException(NoHandlerFoundException exception) {
         ErrorCode errorCode = ErrorCode.NOT_FOUND;
-        return new ResponseEntity(new ErrorResponse(errorCode), HttpStatus.valueOf(errorCode.getStatus()));
+        warn(errorCode, exception.getMessage());
+        return toResponse(errorCode);
     }
 
-    @ExceptionHandler({MissingServletRequestParameterException.class})
-    protected ResponseEntity<ErrorResponse> handleBadRequestException(Exception exception) {
-        log.warn(exception.getMessage());
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    protected ResponseEntity<byte[]> handleBadRequestException(Exception exception) {
         ErrorCode errorCode = ErrorCode.BAD_REQUEST;
-        return new ResponseEntity(new ErrorResponse(errorCode), HttpStatus.valueOf(errorCode.getStatus()));
+        warn(errorCode, exception.getMessage());
+        return toResponse(errorCode);
+    }
+
+    @ExceptionHandler({OptimisticLockingFailureException.class})
+    protected ResponseEntity<byte[]> handleConflictException(OptimisticLockingFailureException exception) {
+        ErrorCode errorCode = ErrorCode.CONFLICT;
+        warn(errorCode, exception.getMessage());
+        return toResponse(errorCode);
     }
 
     @ExceptionHandler({HttpClientErrorException.Unauthorized.class})
-    protected ResponseEntity<ErrorResponse> handleUnauthorizedException(HttpClientErrorException.Unauthorized exception) {
-        log.warn(exception.getMessage());
+    protected ResponseEntity<byte[]> handleUnauthorizedException(HttpClientErrorException.Unauthorized exception) {
         ErrorCode errorCode = ErrorCode.UNAUTHORIZED;
-        return new ResponseEntity(new ErrorResponse(errorCode), HttpStatus.valueOf(errorCode.getStatus()));
+        warn(errorCode, exception.getMessage());
+        return toResponse(errorCode);
+    }
+
+    @ExceptionHandler({AsyncRequestTimeoutException.class})
+    protected ResponseEntity<byte[]> handleAsyncRequestTimeoutException(AsyncRequestTimeoutException exception) {
+        ErrorCode errorCode = ErrorCode.SERVICE_UNAVAILABLE;
+        warn(errorCode, "async request timed out");
+        return toResponse(errorCode);
     }
 
+    // ErrorCode 별 에러 응답 수를 todo.errors 로 센다.
+    private ResponseEntity<byte[]> toResponse(ErrorCode errorCode) {
+        counters.get(errorCode).increment();
+        return bodies.toResponse(errorCode);
+    }
+
+    private ResponseEntity<byte[]> toResponse(ErrorCode errorCode, HttpHeaders headers) {
+        counters.get(errorCode).increment();
+        return bodies.toResponse(errorCode, headers);
+    }
+
+    private void warn(ErrorCode errorCode, String message) {
+        long skipped = logSampler.tryAcquire(errorCode);
+        if (skipped == 0) {
+            log.warn(message);
+        } else if (skipped > 0) {
+            log.warn("{} (skipped {} since last log)", message, skipped);
+        }
+    }
 }
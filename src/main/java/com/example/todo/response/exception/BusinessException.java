@@ -2,11 +2,15 @@ package com.example.todo.response.exception;
 
 import com.example.todo.response.ErrorCode;
 
+/**
+ * ErrorCode 로 응답하는 예상된 실패(없는 id, apikey 누락 등). 봇 요청으로 가장 자주 던져지고 로그에 스택 트레이스를 찍지 않으므로
+ * INTERNAL_SERVER_ERROR 가 아니면 스택 트레이스를 채우지 않는다.
+ */
 public class BusinessException extends RuntimeException {
     private ErrorCode errorCode;
 
     public BusinessException(ErrorCode errorCode) {
-        super(errorCode.getMessage());
+        super(errorCode.getMessage(), null, false, errorCode == ErrorCode.INTERNAL_SERVER_ERROR);
         this.errorCode = errorCode;
     }
 
@@ -14,4 +18,4 @@ public class BusinessException extends RuntimeException {
         return errorCode;
     }
 
-}
\ No newline at end of file
+}
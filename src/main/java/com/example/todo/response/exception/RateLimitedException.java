@@ -0,0 +1,19 @@
+package com.example.todo.response.exception;
+
+import com.example.todo.response.ErrorCode;
+
+/**
+ * 요청 한도를 넘었다. Retry-After 로 내려줄 초를 함께 담는다.
+ */
+public class RateLimitedException extends BusinessException {
+    private final long retryAfterSeconds;
+
+    public RateLimitedException(long waitMillis) {
+        super(ErrorCode.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.todo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 조회를 하나로 합친다. 먼저 온 요청(leader)만 loader 를 실행하고, 그동안 온 요청(follower)은
+ * 같은 결과나 예외를 받는다. 끝나면 성공, 실패 모두 키를 지우므로 결과를 캐시하지는 않는다.
+ * todo.single.flight.requests{name, result=leader|follower} 로 합쳐진 비율을 본다.
+ */
+public class SingleFlight<K, V> {
+
+    public static final String METRIC_NAME = "todo.single.flight.requests";
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public SingleFlight(String name) {
+        this.leaders = Metrics.counter(METRIC_NAME, "name", name, "result", "leader");
+        this.followers = Metrics.counter(METRIC_NAME, "name", name, "result", "follower");
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = flights.putIfAbsent(key, flight);
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+        leaders.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * 이후 요청은 진행 중인 조회에 합치지 않고 새로 조회한다. 쓰기 뒤에 불러, 쓰기 전에 시작한 조회의 결과를 받지 않게 한다.
+     */
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    public void forgetAll() {
+        flights.clear();
+    }
+
+    int inFlight() {
+        return flights.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -1,65 +1,272 @@
 package com.example.todo.service;
 
+import com.example.todo.config.CacheConfig;
+import com.example.todo.config.MetricsConfig;
+import com.example.todo.dto.TodoBatchResultDto;
+import com.example.todo.dto.TodoBatchUpdateRequest;
+import com.example.todo.dto.TodoCounts;
+import com.example.todo.dto.TodoCursor;
+import com.example.todo.dto.TodoCursorPageDto;
 import com.example.todo.dto.TodoDto;
 import com.example.todo.dto.TodoListDto;
+import com.example.todo.dto.TodoListFilter;
+import com.example.todo.dto.TodoListVersion;
+import com.example.todo.dto.TodoPaging;
+import com.example.todo.dto.TodoPatchRequest;
 import com.example.todo.dto.TodoRequest;
+import com.example.todo.dto.TodoSort;
+import com.example.todo.dto.TodoSummary;
+import com.example.todo.dto.TodoUrl;
+import com.example.todo.dto.TodoUrlMode;
 import com.example.todo.entity.Todo;
-import com.example.todo.repository.TodoRepository;
 import com.example.todo.response.ErrorCode;
 import com.example.todo.response.exception.BusinessException;
+import com.example.todo.store.TodoStore;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
-@Transactional
 @RequiredArgsConstructor
 public class TodoService {
 
-    private final TodoRepository todoRepository;
+    private static final int MAX_BATCH_SIZE = 1000;
 
-    @Value("${todoUrl ?:http://localhost:8080/todos/}")
-    private String baseUrl;
+    private final TodoStore todoStore;
 
-    @Transactional(readOnly = true)
+    private static final String DEFAULT_TODO_URL = "http://localhost:8080/todos/";
+
+    private TodoUrl.Base todoUrl = TodoUrl.base(DEFAULT_TODO_URL);
+
+    // 동시에 들어온 같은 조회(같은 id, 같은 목록 조건, 목록 버전)는 저장소 조회 한 번을 나눠 받는다.
+    private final SingleFlight<Long, Optional<Todo>> todoFlights = new SingleFlight<>("todo");
+    private final SingleFlight<PageKey, List<TodoSummary>> pageFlights = new SingleFlight<>("page");
+    private final SingleFlight<Boolean, TodoListVersion> versionFlights = new SingleFlight<>("list-version");
+
+    private boolean singleFlight = true;
+
+    @Value("${todoUrl:" + DEFAULT_TODO_URL + "}")
+    void setTodoUrl(String baseUrl) {
+        this.todoUrl = TodoUrl.base(baseUrl);
+    }
+
+    @Value("${todo.single-flight.enabled:true}")
+    void setSingleFlight(boolean singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TODO_CACHE, key = "#todoId", sync = true)
+    @Timed(MetricsConfig.SERVICE_TIMER)
     public TodoDto getTodo(Long todoId) {
         return TodoDto.from(
-                todoRepository.findById(todoId)
+                coalesce(todoFlights, todoId, () -> todoStore.findById(todoId))
                         .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND)));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TODO_CACHE, key = "#todoId")
+    @Timed(MetricsConfig.SERVICE_TIMER)
     public TodoDto updateTodo(Long todoId, TodoRequest request) {
-        Todo todo = todoRepository.findById(todoId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND));
-        todo.update(request);
-        return TodoDto.from(todo);
+        TodoDto todo = TodoDto.from(todoStore.update(todoId, request));
+        written(todoId);
+        return todo;
+    }
+
+    /**
+     * 클라이언트가 알고 있는 버전(If-Match)과 같을 때만 수정한다. 버전이 다르면 Precondition Failed 를 던진다.
+     */
+    @CacheEvict(cacheNames = CacheConfig.TODO_CACHE, key = "#todoId")
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public TodoDto updateTodo(Long todoId, TodoRequest request, Long expectedVersion) {
+        TodoDto todo = TodoDto.from(todoStore.update(todoId, request, expectedVersion));
+        written(todoId);
+        return todo;
+    }
+
+    /**
+     * 요청에 있는 필드만 수정한다. expectedVersion 이 있으면 버전이 같을 때만 수정한다.
+     */
+    @CacheEvict(cacheNames = CacheConfig.TODO_CACHE, key = "#todoId")
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public TodoDto patchTodo(Long todoId, TodoPatchRequest patch, Long expectedVersion) {
+        TodoDto todo = TodoDto.from(todoStore.patch(todoId, patch, expectedVersion));
+        written(todoId);
+        return todo;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TODO_CACHE, key = "#todoId")
+    @Timed(MetricsConfig.SERVICE_TIMER)
     public void deleteTodo(Long todoId) {
-        todoRepository.deleteById(todoId);
+        todoStore.deleteById(todoId);
+        written(todoId);
     }
 
+    @Timed(MetricsConfig.SERVICE_TIMER)
     public TodoDto createTodo(TodoRequest request) {
-        Todo todo = request.toEntity();
-        return TodoDto.from(todoRepository.save(todo));
+        TodoDto todo = TodoDto.from(todoStore.create(request));
+        written(null);
+        return todo;
     }
 
-    @Transactional(readOnly = true)
-    public List<TodoListDto> getTodos(int skip, int limit) {
-        if (limit == 0) {
-            limit = (int) todoRepository.count();
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public List<TodoBatchResultDto> createTodos(List<TodoRequest> requests) {
+        validBatch(requests);
+        List<Todo> todos = todoStore.createAll(requests);
+        written(null);
+        List<TodoBatchResultDto> results = new ArrayList<>(todos.size());
+        for (int i = 0; i < todos.size(); i++) {
+            results.add(TodoBatchResultDto.success(i, HttpStatus.CREATED, TodoDto.from(todos.get(i))));
         }
-        return todoRepository.findAll(PageRequest.of(skip, limit, Sort.Direction.DESC, "id"))
-                .getContent()
+        return results;
+    }
+
+    // 일괄 처리는 대상이 많으므로 항목별로 지우지 않고 캐시 전체를 비운다.
+    @CacheEvict(cacheNames = CacheConfig.TODO_CACHE, allEntries = true)
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public List<TodoBatchResultDto> updateTodos(List<TodoBatchUpdateRequest> requests) {
+        validBatch(requests);
+        Map<Long, Todo> todos = todoStore.updateAll(requests);
+        writtenAll();
+
+        List<TodoBatchResultDto> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Long id = requests.get(i).getId();
+            Todo todo = todos.get(id);
+            results.add(todo == null
+                    ? TodoBatchResultDto.failure(i, id, ErrorCode.NOT_FOUND)
+                    : TodoBatchResultDto.success(i, HttpStatus.OK, TodoDto.from(todo)));
+        }
+        return results;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.TODO_CACHE, allEntries = true)
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public List<TodoBatchResultDto> deleteTodos(List<Long> todoIds) {
+        validBatch(todoIds);
+        Set<Long> deleted = todoStore.deleteAll(todoIds);
+        writtenAll();
+        List<TodoBatchResultDto> results = new ArrayList<>(todoIds.size());
+        for (int i = 0; i < todoIds.size(); i++) {
+            Long id = todoIds.get(i);
+            results.add(deleted.contains(id)
+                    ? TodoBatchResultDto.success(i, HttpStatus.NO_CONTENT, id)
+                    : TodoBatchResultDto.failure(i, id, ErrorCode.NOT_FOUND));
+        }
+        return results;
+    }
+
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public TodoListVersion getListVersion() {
+        return coalesce(versionFlights, Boolean.TRUE, todoStore::getListVersion);
+    }
+
+    /**
+     * 전체/완료 개수. 저장소가 쓰기마다 유지하는 값이다.
+     */
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public TodoCounts getCounts() {
+        return todoStore.getCounts();
+    }
+
+    /**
+     * 조건에 맞는 목록 중 skip 번째 페이지를 조회한다. 전체 개수는 세지 않는다.
+     */
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public List<TodoListDto> getTodos(TodoListFilter filter, TodoSort sort, int skip, int limit, TodoUrlMode urlMode) {
+        long offset = TodoPaging.offset(skip, limit);
+        return coalesce(pageFlights, new PageKey(filter, sort, offset, limit),
+                () -> todoStore.findPage(filter, sort, offset, limit))
                 .stream()
-                .map(todo -> TodoListDto.of(todo, baseUrl + todo.getId()))
+                .map(todo -> TodoListDto.of(todo, urlOf(todo, urlMode)))
+                .collect(Collectors.toList());
+    }
+
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public TodoCursorPageDto getTodos(String after, int limit, TodoUrlMode urlMode) {
+        TodoPaging.checkLimit(limit);
+        // 다음 페이지 존재 여부를 알기 위해 하나 더 조회한다.
+        List<TodoSummary> todos = todoStore.findAllAfter(TodoCursor.decode(after), limit + 1);
+        boolean hasNext = todos.size() > limit;
+        List<TodoListDto> page = todos.stream()
+                .limit(limit)
+                .map(todo -> TodoListDto.of(todo, urlOf(todo, urlMode)))
                 .collect(Collectors.toList());
+        String nextCursor = hasNext ? TodoCursor.encode(page.get(page.size() - 1).getId()) : null;
+        return TodoCursorPageDto.builder()
+                .todos(page)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * 전체 todo 를 한 건씩 consumer 에 넘긴다. 전체 목록을 메모리에 올리지 않는다.
+     */
+    @Timed(MetricsConfig.SERVICE_TIMER)
+    public void exportTodos(TodoUrlMode urlMode, Consumer<TodoListDto> consumer) {
+        todoStore.forEach(todo -> consumer.accept(TodoListDto.of(todo, urlOf(todo, urlMode))));
+    }
+
+    /**
+     * url_mode=template 응답의 항목 url 템플릿. ({id} 를 항목 id 로 바꾸면 된다)
+     */
+    public String getUrlTemplate() {
+        return todoUrl.template();
+    }
+
+    private CharSequence urlOf(TodoSummary todo, TodoUrlMode urlMode) {
+        return urlMode == TodoUrlMode.TEMPLATE ? null : todoUrl.of(todo.getId());
+    }
+
+    private <K, V> V coalesce(SingleFlight<K, V> flights, K key, Supplier<V> loader) {
+        return singleFlight ? flights.execute(key, loader) : loader.get();
+    }
+
+    /**
+     * 쓰기가 커밋된 뒤에 온 조회가 그 전에 시작한 조회에 합쳐지지 않게 한다. id 가 null 이면 목록만.
+     */
+    private void written(Long todoId) {
+        if (todoId != null) {
+            todoFlights.forget(todoId);
+        }
+        pageFlights.forgetAll();
+        versionFlights.forgetAll();
+    }
+
+    private void writtenAll() {
+        todoFlights.forgetAll();
+        pageFlights.forgetAll();
+        versionFlights.forgetAll();
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class PageKey {
+        private final TodoListFilter filter;
+        private final TodoSort sort;
+        private final long offset;
+        private final int limit;
+    }
+
+    private void validBatch(List<?> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE
+                || requests.stream().anyMatch(Objects::isNull)) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST);
+        }
     }
 
 }
@@ -0,0 +1,398 @@
+package com.example.todo.store;
+
+import com.example.todo.dto.TodoBatchUpdateRequest;
+import com.example.todo.dto.TodoCounts;
+import com.example.todo.dto.TodoListFilter;
+import com.example.todo.dto.TodoListVersion;
+import com.example.todo.dto.TodoPatchRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.dto.TodoSort;
+import com.example.todo.dto.TodoSummary;
+import com.example.todo.entity.Todo;
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 프로세스 메모리에만 두는 저장소. 재시작하면 비워지므로 내구성이 필요 없는 노드에서 쓴다. (todo.store=memory)
+ * <p>
+ * todo 는 id 역순으로 정렬된 ConcurrentSkipListMap 에 두어 id 순 목록과 커서 조회를 정렬 없이 앞에서부터 읽는다.
+ * (스킵 리스트는 역방향 순회가 한 걸음마다 다시 탐색하므로 기본 목록 순서인 id 역순을 정방향으로 둔다)
+ * 저장된 Todo 는 바꾸지 않고, 수정은 복사본을 만들어 교체한다. 그래서 읽기는 잠그지 않고,
+ * 같은 id 의 읽고-고치고-쓰기(버전 확인, 삭제와의 경합)만 id 로 고른 스트라이프 락으로 직렬화한다.
+ * <p>
+ * {@link TodoJournal} 빈(todo.wal.enabled=true)이 있으면 시작할 때 복구하고, 변경을 맵에 반영한 뒤 같은 락 안에서 기록한다.
+ * 기록하지 못하면 맵을 되돌리고, 응답하기 전에 fsync 정책에 맞게 기다린다.
+ */
+@Component
+@ConditionalOnProperty(name = TodoStore.PROPERTY, havingValue = "memory")
+public class InMemoryTodoStore implements TodoStore {
+
+    // 2의 거듭제곱이어야 한다.
+    private static final int LOCK_STRIPES = 64;
+
+    private static final Map<TodoSort, Comparator<Todo>> ORDERS = new EnumMap<>(TodoSort.class);
+
+    static {
+        ORDERS.put(TodoSort.ID_DESC, Comparator.comparing(Todo::getId).reversed());
+        ORDERS.put(TodoSort.ID_ASC, Comparator.comparing(Todo::getId));
+        ORDERS.put(TodoSort.CREATED_AT_DESC, Comparator.comparing(Todo::getCreatedAt).thenComparing(Todo::getId).reversed());
+        ORDERS.put(TodoSort.CREATED_AT_ASC, Comparator.comparing(Todo::getCreatedAt).thenComparing(Todo::getId));
+        // H2 와 같이 null 이름을 앞에 둔다.
+        ORDERS.put(TodoSort.NAME_ASC, Comparator.comparing(Todo::getName, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(Todo::getId));
+    }
+
+    private final ConcurrentSkipListMap<Long, Todo> todos = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final AtomicLong count = new AtomicLong();
+
+    // 완료된 todo 수. 쓰기마다 count 와 함께 바꿔 목록 응답에서 세지 않는다.
+    private final AtomicLong completedCount = new AtomicLong();
+
+    // 마지막 생성/수정/삭제 시각. 목록 ETag 에 쓰므로 줄어들지 않게 갱신한다.
+    private final AtomicReference<LocalDateTime> lastUpdatedAt = new AtomicReference<>();
+
+    // 쓰기 순번. 늦은 시각의 쓰기가 먼저 반영되어 lastUpdatedAt 이 그대로여도 목록 ETag 가 바뀌게 한다.
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    private final TodoJournal journal;
+
+    @Autowired
+    public InMemoryTodoStore(ObjectProvider<TodoJournal> journal) {
+        this(journal.getIfAvailable(() -> TodoJournal.NONE));
+    }
+
+    public InMemoryTodoStore(TodoJournal journal) {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.journal = journal;
+        journal.recover(new JournalTarget());
+        count.set(todos.size());
+        completedCount.set(todos.values().stream().filter(todo -> Boolean.TRUE.equals(todo.getCompleted())).count());
+        todos.values().stream()
+                .map(Todo::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .ifPresent(lastUpdatedAt::set);
+    }
+
+    @Override
+    public Optional<Todo> findById(Long id) {
+        return Optional.ofNullable(todos.get(id));
+    }
+
+    @Override
+    public Todo create(TodoRequest request) {
+        Todo todo = insert(request);
+        journal.sync();
+        return todo;
+    }
+
+    @Override
+    public List<Todo> createAll(List<TodoRequest> requests) {
+        List<Todo> created = new ArrayList<>(requests.size());
+        for (TodoRequest request : requests) {
+            created.add(insert(request));
+        }
+        journal.sync();
+        return created;
+    }
+
+    @Override
+    public Todo update(Long id, TodoRequest request) {
+        return update(id, request, null);
+    }
+
+    @Override
+    public Todo update(Long id, TodoRequest request, Long expectedVersion) {
+        Todo todo = modify(id, expectedVersion, copy -> copy.update(request));
+        if (todo == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND);
+        }
+        journal.sync();
+        return todo;
+    }
+
+    @Override
+    public Todo patch(Long id, TodoPatchRequest patch, Long expectedVersion) {
+        Todo todo = modify(id, expectedVersion, copy -> copy.patch(patch));
+        if (todo == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND);
+        }
+        journal.sync();
+        return todo;
+    }
+
+    @Override
+    public Map<Long, Todo> updateAll(List<TodoBatchUpdateRequest> requests) {
+        Map<Long, Todo> updated = new HashMap<>();
+        for (TodoBatchUpdateRequest request : requests) {
+            Todo todo = modify(request.getId(), null, copy -> copy.update(request.toTodoRequest()));
+            if (todo != null) {
+                updated.put(todo.getId(), todo);
+            }
+        }
+        journal.sync();
+        return updated;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (remove(id)) {
+            journal.sync();
+        }
+    }
+
+    @Override
+    public Set<Long> deleteAll(Collection<Long> ids) {
+        Set<Long> deleted = new HashSet<>();
+        for (Long id : ids) {
+            if (remove(id)) {
+                deleted.add(id);
+            }
+        }
+        journal.sync();
+        return deleted;
+    }
+
+    @Override
+    public TodoListVersion getListVersion() {
+        // 순번을 먼저 읽는다. 순번을 올린 쓰기는 이미 반영되어 있으므로 어긋나도 ETag 가 한 번 더 바뀔 뿐이다.
+        long sequence = this.sequence.get();
+        return new ListVersion(count.get(), lastUpdatedAt.get(), sequence);
+    }
+
+    @Override
+    public TodoCounts getCounts() {
+        return new TodoCounts(count.get(), completedCount.get());
+    }
+
+    /**
+     * id 순 정렬은 맵을 순서대로 읽다가 limit 건이 차면 멈춘다.
+     * 그 외 정렬은 조건에 맞는 todo 를 훑으면서 앞쪽 offset + limit 건만 힙에 남긴다.
+     */
+    @Override
+    public List<TodoSummary> findPage(TodoListFilter filter, TodoSort sort, long offset, int limit) {
+        if (sort == TodoSort.ID_DESC || sort == TodoSort.ID_ASC) {
+            Collection<Todo> ordered = sort == TodoSort.ID_DESC ? todos.values() : todos.descendingMap().values();
+            return ordered.stream()
+                    .filter(todo -> matches(filter, todo))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(InMemoryTodoStore::summaryOf)
+                    .collect(Collectors.toList());
+        }
+
+        Comparator<Todo> order = ORDERS.get(sort);
+        long size = offset + limit;
+        // 가장 뒤에 올 todo 가 머리에 오도록 역순 힙을 쓴다.
+        PriorityQueue<Todo> top = new PriorityQueue<>(order.reversed());
+        for (Todo todo : todos.values()) {
+            if (!matches(filter, todo)) {
+                continue;
+            }
+            if (top.size() < size) {
+                top.add(todo);
+            } else if (order.compare(todo, top.peek()) < 0) {
+                top.poll();
+                top.add(todo);
+            }
+        }
+        List<Todo> sorted = new ArrayList<>(top);
+        sorted.sort(order);
+        return sorted.stream()
+                .skip(offset)
+                .map(InMemoryTodoStore::summaryOf)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TodoSummary> findAllAfter(long cursor, int limit) {
+        return todos.tailMap(cursor, false).values().stream()
+                .limit(limit)
+                .map(InMemoryTodoStore::summaryOf)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void forEach(Consumer<TodoSummary> consumer) {
+        for (Todo todo : todos.values()) {
+            consumer.accept(summaryOf(todo));
+        }
+    }
+
+    private Todo insert(TodoRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        Todo todo = copyOf(request.toEntity(), ids.incrementAndGet(), 0L, now, now);
+        // 새 id 라 다른 쓰기와 겹치지 않지만, 이 id 의 이후 변경보다 먼저 기록되도록 잠근다.
+        ReentrantLock lock = lockFor(todo.getId());
+        lock.lock();
+        try {
+            todos.put(todo.getId(), todo);
+            record(() -> journal.put(todo), () -> todos.remove(todo.getId()));
+        } finally {
+            lock.unlock();
+        }
+        count.incrementAndGet();
+        completedCount.addAndGet(TodoCounts.completed(todo.getCompleted()));
+        touch(now);
+        return todo;
+    }
+
+    /**
+     * 같은 id 의 쓰기를 잠근 채로 복사본을 고쳐 교체한다. 없는 id 이면 null 을 돌려준다.
+     */
+    private Todo modify(Long id, Long expectedVersion, Consumer<Todo> change) {
+        LocalDateTime now = LocalDateTime.now();
+        Todo next;
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Todo current = todos.get(id);
+            if (current == null) {
+                return null;
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new BusinessException(ErrorCode.PRECONDITION_FAILED);
+            }
+            Todo updated = copyOf(current, id, current.getVersion() + 1, current.getCreatedAt(), now);
+            change.accept(updated);
+            todos.put(id, updated);
+            record(() -> journal.put(updated), () -> todos.put(id, current));
+            next = updated;
+            completedCount.addAndGet(TodoCounts.completed(updated.getCompleted()) - TodoCounts.completed(current.getCompleted()));
+        } finally {
+            lock.unlock();
+        }
+        touch(now);
+        return next;
+    }
+
+    private boolean remove(Long id) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Todo current = todos.remove(id);
+            if (current == null) {
+                return false;
+            }
+            record(() -> journal.delete(id), () -> todos.put(id, current));
+            completedCount.addAndGet(-TodoCounts.completed(current.getCompleted()));
+        } finally {
+            lock.unlock();
+        }
+        count.decrementAndGet();
+        touch(LocalDateTime.now());
+        return true;
+    }
+
+    /**
+     * 스냅샷은 기록 순번까지의 변경이 맵에 있다고 보므로 맵에 먼저 반영하고 기록한다. 기록하지 못하면 맵을 되돌린다.
+     */
+    private void record(Runnable append, Runnable undo) {
+        try {
+            append.run();
+        } catch (RuntimeException e) {
+            undo.run();
+            throw e;
+        }
+    }
+
+    private ReentrantLock lockFor(Long id) {
+        long value = id;
+        // 연속된 id 가 서로 다른 스트라이프에 가도록 하위 비트를 쓴다.
+        return locks[(int) (value ^ (value >>> 32)) & (LOCK_STRIPES - 1)];
+    }
+
+    private void touch(LocalDateTime now) {
+        lastUpdatedAt.accumulateAndGet(now, (previous, next) -> previous == null || next.isAfter(previous) ? next : previous);
+        sequence.incrementAndGet();
+    }
+
+    private static boolean matches(TodoListFilter filter, Todo todo) {
+        if (filter.getCompleted() != null && !filter.getCompleted().equals(todo.getCompleted())) {
+            return false;
+        }
+        if (filter.getCreatedAfter() != null && !todo.getCreatedAt().isAfter(filter.getCreatedAfter())) {
+            return false;
+        }
+        if (filter.getCreatedBefore() != null && !todo.getCreatedAt().isBefore(filter.getCreatedBefore())) {
+            return false;
+        }
+        String name = filter.getName();
+        return name == null || name.isEmpty() || (todo.getName() != null && todo.getName().startsWith(name));
+    }
+
+    private static Todo copyOf(Todo todo, long id, long version, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return Todo.builder()
+                .id(id)
+                .name(todo.getName())
+                .completed(todo.getCompleted())
+                .completedAt(todo.getCompletedAt())
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .version(version)
+                .build();
+    }
+
+    private static TodoSummary summaryOf(Todo todo) {
+        return new TodoSummary(todo.getId(), todo.getName(), todo.getCompleted(), todo.getCompletedAt());
+    }
+
+    private class JournalTarget implements TodoJournal.Target {
+
+        @Override
+        public void put(Todo todo) {
+            todos.put(todo.getId(), todo);
+        }
+
+        @Override
+        public void delete(long id) {
+            todos.remove(id);
+        }
+
+        @Override
+        public Collection<Todo> todos() {
+            return todos.values();
+        }
+
+        @Override
+        public long lastId() {
+            return ids.get();
+        }
+
+        @Override
+        public void lastId(long lastId) {
+            ids.set(lastId);
+        }
+    }
+}
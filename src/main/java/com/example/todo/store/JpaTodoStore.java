@@ -0,0 +1,264 @@
+package com.example.todo.store;
+
+import com.example.todo.dto.TodoBatchUpdateRequest;
+import com.example.todo.dto.TodoCounts;
+import com.example.todo.dto.TodoListFilter;
+import com.example.todo.dto.TodoListVersion;
+import com.example.todo.dto.TodoPatchRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.dto.TodoSort;
+import com.example.todo.dto.TodoSummary;
+import com.example.todo.entity.Todo;
+import com.example.todo.repository.TodoRepository;
+import com.example.todo.repository.TodoSpecifications;
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Spring Data JPA(H2) 저장소. 메서드 하나가 트랜잭션 하나이다.
+ */
+@Component
+@Transactional
+@ConditionalOnProperty(name = TodoStore.PROPERTY, havingValue = "jpa", matchIfMissing = true)
+public class JpaTodoStore implements TodoStore {
+
+    // 버전 충돌로 다시 시도하는 최대 횟수.
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final TodoRepository todoRepository;
+    private final TodoCounter todoCounter;
+    private final TransactionTemplate transactionTemplate;
+
+    public JpaTodoStore(TodoRepository todoRepository, TodoCounter todoCounter,
+                        PlatformTransactionManager transactionManager) {
+        this.todoRepository = todoRepository;
+        this.todoCounter = todoCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Todo> findById(Long id) {
+        return todoRepository.findById(id);
+    }
+
+    @Override
+    public Todo create(TodoRequest request) {
+        Todo todo = todoRepository.save(request.toEntity());
+        todoCounter.add(1, TodoCounts.completed(todo.getCompleted()));
+        return todo;
+    }
+
+    @Override
+    public List<Todo> createAll(List<TodoRequest> requests) {
+        List<Todo> todos = todoRepository.saveAll(requests.stream()
+                .map(TodoRequest::toEntity)
+                .collect(Collectors.toList()));
+        todoCounter.add(todos.size(), todos.stream().mapToInt(todo -> TodoCounts.completed(todo.getCompleted())).sum());
+        return todos;
+    }
+
+    @Override
+    public Todo update(Long id, TodoRequest request) {
+        Todo todo = todoRepository.findById(id)
+                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND));
+        int completedBefore = TodoCounts.completed(todo.getCompleted());
+        todo.update(request);
+        todoCounter.add(0, TodoCounts.completed(todo.getCompleted()) - completedBefore);
+        return todo;
+    }
+
+    /**
+     * 엔티티로 수정하므로 2차 캐시에서는 이 todo 만 바뀐다.
+     * 읽기는 대개 2차 캐시에서 끝나므로 DB 에는 버전 조건이 붙은 UPDATE 한 번만 간다.
+     */
+    @Override
+    public Todo update(Long id, TodoRequest request, Long expectedVersion) {
+        Todo todo = findVersioned(id, expectedVersion);
+        int completedBefore = TodoCounts.completed(todo.getCompleted());
+        todo.update(request);
+        todoCounter.add(0, TodoCounts.completed(todo.getCompleted()) - completedBefore);
+        flushVersioned(expectedVersion);
+        return todo;
+    }
+
+    /**
+     * 읽은 엔티티에 적용하고 바뀐 컬럼만 UPDATE 한다(@DynamicUpdate). 엔티티로 수정하므로 2차 캐시에서는 이 todo 만 바뀐다.
+     * If-Match 없는 patch 는 읽은 뒤 다른 요청이 먼저 고쳐 실패하면 deleteById 처럼 다시 읽어 적용한다.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Todo patch(Long id, TodoPatchRequest patch, Long expectedVersion) {
+        if (expectedVersion != null) {
+            return transactionTemplate.execute(status -> patchEntity(id, patch, expectedVersion));
+        }
+        return retryOnConflict(() -> patchEntity(id, patch, null));
+    }
+
+    @Override
+    public Map<Long, Todo> updateAll(List<TodoBatchUpdateRequest> requests) {
+        Map<Long, Todo> todos = todoRepository.findAllById(requests.stream()
+                        .map(TodoBatchUpdateRequest::getId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+        int completedDelta = 0;
+        for (TodoBatchUpdateRequest request : requests) {
+            Todo todo = todos.get(request.getId());
+            if (todo != null) {
+                completedDelta -= TodoCounts.completed(todo.getCompleted());
+                todo.update(request.toTodoRequest());
+                completedDelta += TodoCounts.completed(todo.getCompleted());
+            }
+        }
+        todoCounter.add(0, completedDelta);
+        // updatedAt 이 반영된 값을 돌려주기 위해 flush 한다.
+        todoRepository.flush();
+        return todos;
+    }
+
+    /**
+     * JPQL 벌크 DELETE 는 Todo 2차 캐시 리전 전체를 비우므로 엔티티로 지워 그 항목만 무효화한다.
+     * 지우기 전 조회는 대개 2차 캐시에서 끝난다. 엔티티 삭제는 버전을 확인하지만 If-Match 없는 삭제가 버전 충돌로 실패하면 안 되므로,
+     * 읽은 뒤 다른 요청이 먼저 지웠거나 고쳐 커밋이 실패하면 새 트랜잭션에서 다시 읽는다. 없으면 이미 지워진 것이고, 있으면 새 버전으로 지운다.
+     * 개수는 실제로 커밋된 삭제에서만 뺀다.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteById(Long id) {
+        retryOnConflict(() -> {
+            todoRepository.findById(id).ifPresent(todo -> {
+                todoRepository.delete(todo);
+                todoCounter.add(-1, -TodoCounts.completed(todo.getCompleted()));
+            });
+            return null;
+        });
+    }
+
+    /**
+     * deleteById 와 같은 이유로 JPQL 벌크 DELETE 대신 엔티티로 지운다. 한 번의 SELECT 로 읽고 DELETE 는 JDBC 배치로 묶인다.
+     * 읽은 뒤 다른 요청이 먼저 고쳤거나 지웠으면 다시 읽으므로 개수를 이중으로 빼지 않는다.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Set<Long> deleteAll(Collection<Long> ids) {
+        return retryOnConflict(() -> {
+            List<Todo> todos = todoRepository.findAllById(ids);
+            todoRepository.deleteAll(todos);
+            todoCounter.add(-todos.size(), -todos.stream().mapToInt(todo -> TodoCounts.completed(todo.getCompleted())).sum());
+            return todos.stream().map(Todo::getId).collect(Collectors.toSet());
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TodoListVersion getListVersion() {
+        // 순번을 먼저 읽는다. 순번을 올린 커밋은 이미 DB 에 있으므로 어긋나도 ETag 가 한 번 더 바뀔 뿐이다.
+        long sequence = todoCounter.sequence();
+        TodoListVersion version = todoRepository.findListVersion();
+        return new ListVersion(version.getCount(), version.getLastUpdatedAt(), sequence);
+    }
+
+    /**
+     * DB 를 읽지 않으므로 커넥션을 잡지 않는다.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TodoCounts getCounts() {
+        return todoCounter.get();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TodoSummary> findPage(TodoListFilter filter, TodoSort sort, long offset, int limit) {
+        return todoRepository.findPage(TodoSpecifications.of(filter), sort.sortFor(filter), offset, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TodoSummary> findAllAfter(long cursor, int limit) {
+        if (cursor == Long.MAX_VALUE) {
+            return todoRepository.findFirstPage(PageRequest.of(0, limit));
+        }
+        return todoRepository.findAllAfter(cursor, PageRequest.of(0, limit));
+    }
+
+    /**
+     * 전체 목록을 메모리에 올리지 않도록 커서로 읽는다. 스트림은 트랜잭션 안에서만 읽을 수 있어 여기서 소비한다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<TodoSummary> consumer) {
+        try (Stream<TodoSummary> todos = todoRepository.streamAll()) {
+            todos.forEach(consumer);
+        }
+    }
+
+    private Todo patchEntity(Long id, TodoPatchRequest patch, Long expectedVersion) {
+        Todo todo = findVersioned(id, expectedVersion);
+        int completedBefore = TodoCounts.completed(todo.getCompleted());
+        todo.patch(patch);
+        todoCounter.add(0, TodoCounts.completed(todo.getCompleted()) - completedBefore);
+        flushVersioned(expectedVersion);
+        return todo;
+    }
+
+    private Todo findVersioned(Long id, Long expectedVersion) {
+        Todo todo = todoRepository.findById(id)
+                .orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND));
+        if (expectedVersion != null && !expectedVersion.equals(todo.getVersion())) {
+            throw new BusinessException(ErrorCode.PRECONDITION_FAILED);
+        }
+        return todo;
+    }
+
+    /**
+     * 응답에 새 버전과 updatedAt 이 반영되도록 flush 한다.
+     * 버전을 받은 쓰기가 읽은 뒤 다른 요청이 먼저 고쳐 UPDATE 가 0 건이면 Precondition Failed 에러를 던진다.
+     */
+    private void flushVersioned(Long expectedVersion) {
+        try {
+            todoRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            if (expectedVersion != null) {
+                throw new BusinessException(ErrorCode.PRECONDITION_FAILED);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 버전 충돌로 커밋하지 못하면 롤백되었으므로(개수도 그대로) 새 트랜잭션에서 다시 한다.
+     * 같은 todo 에 쓰기가 몰려 MAX_ATTEMPTS 번 모두 실패하면 Conflict 에러를 던진다.
+     */
+    private <T> T retryOnConflict(Supplier<T> write) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new BusinessException(ErrorCode.CONFLICT);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.todo.store;
+
+import com.example.todo.dto.TodoListVersion;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+class ListVersion implements TodoListVersion {
+    private final long count;
+    private final LocalDateTime lastUpdatedAt;
+    private final long sequence;
+}
@@ -0,0 +1,160 @@
+package com.example.todo.store;
+
+import com.example.todo.dto.TodoCounts;
+import com.example.todo.repository.TodoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link JpaTodoStore} 의 전체/완료 개수. 트랜잭션 안에서 모은 변화량을 커밋된 뒤에 더하므로 목록마다 count 쿼리를 하지 않는다.
+ * 다른 노드나 직접 실행한 SQL 로 생긴 차이는 todo.count.reconcile-interval 마다 DB 를 다시 세어 맞춘다.
+ * 개수가 그대로인 쓰기도 커밋되면 쓰기 순번을 올려 목록 ETag 에 쓴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = TodoStore.PROPERTY, havingValue = "jpa", matchIfMissing = true)
+public class TodoCounter {
+
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration reconcileInterval;
+
+    private final AtomicReference<TodoCounts> counts = new AtomicReference<>(TodoCounts.ZERO);
+    private final AtomicLong sequence = new AtomicLong();
+
+    // 커밋(DB 커밋 + 변화량 반영)은 읽기 락, 다시 세기는 쓰기 락. 센 값과 더한 변화량이 같은 커밋들을 보게 한다.
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+    private ScheduledExecutorService reconciler;
+
+    public TodoCounter(TodoRepository todoRepository,
+                       PlatformTransactionManager transactionManager,
+                       // 0 이면 시작할 때만 센다.
+                       @Value("${todo.count.reconcile-interval:5m}") Duration reconcileInterval) {
+        this.todoRepository = todoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        reconcile();
+        if (reconcileInterval.isZero()) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "todo-count-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (RuntimeException e) {
+                log.warn("todo counts reconcile failed", e);
+            }
+        }, reconcileInterval.toMillis(), reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    public TodoCounts get() {
+        return counts.get();
+    }
+
+    /**
+     * 이 노드에서 커밋된 쓰기 수. 수정 시각 순서와 커밋 순서가 달라도 커밋마다 오른다.
+     */
+    public long sequence() {
+        return sequence.get();
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋되면 더할 변화량. 롤백되면 버린다. 트랜잭션 밖이면 바로 더한다.
+     * 개수가 바뀌지 않는 쓰기도 0 으로 불러 커밋될 때 쓰기 순번을 올린다.
+     */
+    public void add(long total, long completedTotal) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counts.updateAndGet(current -> current.plus(total, completedTotal));
+            sequence.incrementAndGet();
+            return;
+        }
+        Delta delta = (Delta) TransactionSynchronizationManager.getResource(this);
+        if (delta == null) {
+            delta = new Delta();
+            TransactionSynchronizationManager.bindResource(this, delta);
+            TransactionSynchronizationManager.registerSynchronization(delta);
+        }
+        delta.total += total;
+        delta.completedTotal += completedTotal;
+    }
+
+    /**
+     * DB 를 다시 세어 개수를 바꾼다. 세는 동안 다른 트랜잭션의 커밋을 막는다.
+     * 트랜잭션을 시작할 때 커넥션을 먼저 잡으므로, 커밋을 기다리는 요청들이 커넥션을 모두 쥐고 있어도 막히지 않는다.
+     */
+    public TodoCounts reconcile() {
+        return transactionTemplate.execute(status -> {
+            commitLock.writeLock().lock();
+            try {
+                TodoCounts actual = todoRepository.countTotals();
+                TodoCounts previous = counts.getAndSet(actual);
+                if (!actual.equals(previous)) {
+                    log.info("todo counts reconciled: {} -> {}", previous, actual);
+                }
+                return actual;
+            } finally {
+                commitLock.writeLock().unlock();
+            }
+        });
+    }
+
+    private class Delta implements TransactionSynchronization {
+
+        private long total;
+        private long completedTotal;
+        private boolean locked;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitLock.readLock().lock();
+            locked = true;
+        }
+
+        @Override
+        public void afterCommit() {
+            counts.updateAndGet(current -> current.plus(total, completedTotal));
+            sequence.incrementAndGet();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TodoCounter.this);
+            if (locked) {
+                commitLock.readLock().unlock();
+            }
+        }
+    }
+}
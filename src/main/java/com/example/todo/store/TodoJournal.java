@@ -0,0 +1,70 @@
+package com.example.todo.store;
+
+import com.example.todo.entity.Todo;
+
+import java.util.Collection;
+
+/**
+ * {@link InMemoryTodoStore} 의 변경 기록. 기록은 변경을 맵에 반영한 직후 같은 id 의 락 안에서 남기므로
+ * 한 id 의 기록 순서는 실제 변경 순서와 같고, 기록에 실패하면 맵의 변경을 되돌린다.
+ * 기록은 변경 후의 전체 상태라 여러 번 적용해도 결과가 같다.
+ */
+public interface TodoJournal {
+
+    /**
+     * 기록하지 않는다. 재시작하면 비워진다.
+     */
+    TodoJournal NONE = new TodoJournal() {
+        @Override
+        public void recover(Target target) {
+        }
+
+        @Override
+        public void put(Todo todo) {
+        }
+
+        @Override
+        public void delete(long id) {
+        }
+
+        @Override
+        public void sync() {
+        }
+    };
+
+    /**
+     * 시작할 때 한 번 불린다. 남아 있는 기록을 target 에 다시 적용하고, 이후 스냅샷은 target 에서 뜬다.
+     */
+    void recover(Target target);
+
+    /**
+     * 생성/수정된 todo 의 상태를 기록한다.
+     */
+    void put(Todo todo);
+
+    void delete(long id);
+
+    /**
+     * 이 스레드가 지금까지 남긴 기록이 fsync 정책에 맞게 디스크에 내려갈 때까지 기다린다.
+     */
+    void sync();
+
+    /**
+     * 복구와 스냅샷이 다루는 저장소 상태.
+     */
+    interface Target {
+
+        void put(Todo todo);
+
+        void delete(long id);
+
+        Collection<Todo> todos();
+
+        /**
+         * 지금까지 발급한 가장 큰 id. 지운 id 를 다시 쓰지 않도록 함께 보관한다.
+         */
+        long lastId();
+
+        void lastId(long lastId);
+    }
+}
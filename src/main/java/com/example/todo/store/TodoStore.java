@@ -0,0 +1,85 @@
+package com.example.todo.store;
+
+import com.example.todo.dto.TodoBatchUpdateRequest;
+import com.example.todo.dto.TodoCounts;
+import com.example.todo.dto.TodoListFilter;
+import com.example.todo.dto.TodoListVersion;
+import com.example.todo.dto.TodoPatchRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.dto.TodoSort;
+import com.example.todo.dto.TodoSummary;
+import com.example.todo.entity.Todo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * TodoService 가 사용하는 저장소. todo.store 프로퍼티로 구현을 고른다.
+ * (jpa: 기본값, {@link JpaTodoStore} / memory: 프로세스 메모리에만 두는 {@link InMemoryTodoStore})
+ * <p>
+ * 없는 id 를 수정하면 NOT_FOUND, 기대한 버전과 다르면 PRECONDITION_FAILED 의 BusinessException 을 던진다.
+ * 돌려받은 Todo 는 읽기만 한다.
+ */
+public interface TodoStore {
+
+    String PROPERTY = "todo.store";
+
+    Optional<Todo> findById(Long id);
+
+    Todo create(TodoRequest request);
+
+    List<Todo> createAll(List<TodoRequest> requests);
+
+    /**
+     * 버전을 확인하지 않고 수정한다.
+     */
+    Todo update(Long id, TodoRequest request);
+
+    /**
+     * 현재 버전이 expectedVersion 과 같을 때만 수정한다.
+     */
+    Todo update(Long id, TodoRequest request, Long expectedVersion);
+
+    /**
+     * 요청에 있는 필드만 수정한다. expectedVersion 이 null 이면 버전을 확인하지 않는다.
+     */
+    Todo patch(Long id, TodoPatchRequest patch, Long expectedVersion);
+
+    /**
+     * 있는 todo 만 수정하고 수정된 todo 를 id 별로 돌려준다.
+     */
+    Map<Long, Todo> updateAll(List<TodoBatchUpdateRequest> requests);
+
+    void deleteById(Long id);
+
+    /**
+     * 있는 todo 만 지우고 지운 id 를 돌려준다.
+     */
+    Set<Long> deleteAll(Collection<Long> ids);
+
+    TodoListVersion getListVersion();
+
+    /**
+     * 전체/완료 개수. 쓰기마다 유지해 두므로 세지 않고 바로 돌려준다.
+     */
+    TodoCounts getCounts();
+
+    /**
+     * 조건에 맞는 목록을 sort 순서로 offset 부터 limit 건 돌려준다.
+     */
+    List<TodoSummary> findPage(TodoListFilter filter, TodoSort sort, long offset, int limit);
+
+    /**
+     * cursor 보다 작은 id 를 id 역순으로 limit 건 돌려준다.
+     */
+    List<TodoSummary> findAllAfter(long cursor, int limit);
+
+    /**
+     * 전체 todo 를 id 역순으로 한 건씩 consumer 에 넘긴다.
+     */
+    void forEach(Consumer<TodoSummary> consumer);
+}
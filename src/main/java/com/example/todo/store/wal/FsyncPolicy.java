@@ -0,0 +1,14 @@
+package com.example.todo.store.wal;
+
+/**
+ * WAL 을 디스크에 내려보내는(fsync) 시점. 로그는 메모리 매핑 파일이라 어느 정책이든 프로세스가 죽어도
+ * 이미 쓴 기록은 남고, 정책은 OS 가 멈추거나 전원이 나갔을 때 잃을 수 있는 범위를 정한다.
+ */
+public enum FsyncPolicy {
+    /** 쓰기 요청이 자기 기록의 fsync 를 기다린다. 동시에 들어온 기록은 한 번의 fsync 로 묶는다(group commit). */
+    ALWAYS,
+    /** 백그라운드에서 주기적으로 fsync 하고 쓰기 요청은 기다리지 않는다. 마지막 주기만큼 잃을 수 있다. */
+    INTERVAL,
+    /** fsync 하지 않고 OS 에 맡긴다. */
+    NONE
+}
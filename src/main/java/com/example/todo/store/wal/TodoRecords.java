@@ -0,0 +1,87 @@
+package com.example.todo.store.wal;
+
+import com.example.todo.entity.Todo;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * WAL 과 스냅샷이 같이 쓰는 todo 의 바이너리 형식.
+ * <pre>
+ * id(8) version(8) completed(1: 0 false, 1 true, 2 null) name(4 길이, -1 이면 null + UTF-8)
+ * createdAt updatedAt completedAt(각각 초 8 + 나노 4, 나노가 -1 이면 null)
+ * </pre>
+ */
+final class TodoRecords {
+
+    private static final int FIXED_SIZE = 8 + 8 + 1 + 4 + 3 * (8 + 4);
+
+    private TodoRecords() {
+    }
+
+    static int sizeOf(byte[] name) {
+        return FIXED_SIZE + (name == null ? 0 : name.length);
+    }
+
+    static byte[] nameOf(Todo todo) {
+        return todo.getName() == null ? null : todo.getName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * name 은 {@link #nameOf(Todo)} 로 미리 인코딩한 값이다. (크기 계산과 쓰기에서 두 번 인코딩하지 않도록)
+     */
+    static void write(ByteBuffer buffer, Todo todo, byte[] name) {
+        buffer.putLong(todo.getId());
+        buffer.putLong(todo.getVersion());
+        buffer.put(todo.getCompleted() == null ? 2 : (byte) (todo.getCompleted() ? 1 : 0));
+        if (name == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(name.length);
+            buffer.put(name);
+        }
+        writeTime(buffer, todo.getCreatedAt());
+        writeTime(buffer, todo.getUpdatedAt());
+        writeTime(buffer, todo.getCompletedAt());
+    }
+
+    static Todo read(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        long version = buffer.getLong();
+        byte completed = buffer.get();
+        int nameLength = buffer.getInt();
+        String name = null;
+        if (nameLength >= 0) {
+            byte[] bytes = new byte[nameLength];
+            buffer.get(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return Todo.builder()
+                .id(id)
+                .version(version)
+                .completed(completed == 2 ? null : completed == 1)
+                .name(name)
+                .createdAt(readTime(buffer))
+                .updatedAt(readTime(buffer))
+                .completedAt(readTime(buffer))
+                .build();
+    }
+
+    private static void writeTime(ByteBuffer buffer, LocalDateTime time) {
+        if (time == null) {
+            buffer.putLong(0);
+            buffer.putInt(-1);
+        } else {
+            buffer.putLong(time.toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(time.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return nanos < 0 ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.todo.store.wal;
+
+import com.example.todo.entity.Todo;
+import com.example.todo.store.TodoJournal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 스냅샷 파일. 이름의 숫자는 스냅샷에 반영된 마지막 WAL 순번이다.
+ * <pre>
+ * magic(4) format(4) seq(8) lastId(8) { 길이(4) todo }* 0(4) crc32(4)
+ * </pre>
+ * 임시 파일에 쓰고 fsync 한 뒤 이름을 바꾸므로 쓰다가 멈춰도 이전 스냅샷이 그대로 남는다.
+ */
+final class TodoSnapshots {
+
+    static final String PREFIX = "snapshot-";
+    static final String SUFFIX = ".bin";
+    static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static final int MAGIC = 0x54534E50;
+    private static final int FORMAT = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private TodoSnapshots() {
+    }
+
+    static String fileName(long seq) {
+        return String.format("%s%020d%s", PREFIX, seq, SUFFIX);
+    }
+
+    static long seqOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    static Path write(Path directory, long seq, long lastId, Iterable<Todo> todos) throws IOException {
+        Path file = directory.resolve(fileName(seq));
+        Path temporary = directory.resolve(fileName(seq) + TEMPORARY_SUFFIX);
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.putInt(MAGIC).putInt(FORMAT).putLong(seq).putLong(lastId);
+            for (Todo todo : todos) {
+                byte[] name = TodoRecords.nameOf(todo);
+                int size = TodoRecords.sizeOf(name);
+                if (buffer.remaining() < 4 + size) {
+                    drain(channel, buffer, crc);
+                    if (buffer.remaining() < 4 + size) {
+                        // 버퍼보다 큰 기록. 읽는 쪽도 버퍼를 늘려 읽는다.
+                        buffer = ByteBuffer.allocateDirect(4 + size);
+                    }
+                }
+                buffer.putInt(size);
+                TodoRecords.write(buffer, todo, name);
+            }
+            if (buffer.remaining() < 4) {
+                drain(channel, buffer, crc);
+            }
+            buffer.putInt(0);
+            drain(channel, buffer, crc);
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    /**
+     * 스냅샷을 target 에 적용하고 스냅샷의 WAL 순번을 돌려준다. 체크섬이 맞지 않으면 IllegalStateException 을 던진다.
+     */
+    static long read(Path file, TodoJournal.Target target) throws IOException {
+        try (Reader reader = new Reader(FileChannel.open(file, StandardOpenOption.READ))) {
+            ByteBuffer buffer = reader.ensure(24);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                throw new IllegalStateException("스냅샷 형식이 아닙니다: " + file);
+            }
+            long seq = buffer.getLong();
+            long lastId = buffer.getLong();
+            while (true) {
+                int size = reader.ensure(4).getInt();
+                if (size == 0) {
+                    break;
+                }
+                target.put(TodoRecords.read(reader.ensure(size)));
+            }
+            long actual = reader.checksum();
+            if (reader.ensure(4).getInt() != (int) actual) {
+                throw new IllegalStateException("스냅샷이 손상되었습니다: " + file);
+            }
+            target.lastId(Math.max(target.lastId(), lastId));
+            return seq;
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer, CRC32 crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * 파일을 버퍼 단위로 읽으면서 읽어간 바이트의 체크섬을 계산한다.
+     */
+    private static final class Reader implements AutoCloseable {
+
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CRC32 crc = new CRC32();
+        // 체크섬에 아직 넣지 않은 버퍼 안의 시작 위치
+        private int unchecked;
+
+        Reader(FileChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        ByteBuffer ensure(int size) throws IOException {
+            if (buffer.remaining() >= size) {
+                return buffer;
+            }
+            updateChecksum();
+            if (size > buffer.capacity()) {
+                ByteBuffer larger = ByteBuffer.allocateDirect(size);
+                larger.put(buffer);
+                buffer = larger;
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < size) {
+                if (channel.read(buffer) < 0) {
+                    throw new IllegalStateException("스냅샷이 중간에 끝났습니다.");
+                }
+            }
+            buffer.flip();
+            unchecked = 0;
+            return buffer;
+        }
+
+        long checksum() {
+            updateChecksum();
+            return crc.getValue();
+        }
+
+        private void updateChecksum() {
+            ByteBuffer consumed = buffer.duplicate();
+            consumed.position(unchecked).limit(buffer.position());
+            crc.update(consumed);
+            unchecked = buffer.position();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,547 @@
+package com.example.todo.store.wal;
+
+import com.example.todo.entity.Todo;
+import com.example.todo.store.TodoJournal;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 메모리 매핑 세그먼트 파일에 덧붙이기만 하는 WAL. {@link com.example.todo.store.InMemoryTodoStore} 가 재시작 후에도
+ * 데이터를 유지하도록 생성/수정/삭제를 기록하고, 주기적으로 전체 상태를 스냅샷으로 떠서 그 이전 세그먼트를 지운다.
+ * <pre>
+ * 기록: 길이(4) crc32(4) { 종류(1) 순번(8) 본문 }    본문: PUT 은 todo, DELETE 는 id(8)
+ * </pre>
+ * 세그먼트는 미리 0 으로 채운 파일이라 길이가 0 이거나 체크섬이 맞지 않는 곳을 끝으로 본다. 시작할 때는 마지막 스냅샷을
+ * 읽고 그 순번 뒤의 기록만 다시 적용한 다음, 끝이 깨졌을 수 있는 기존 세그먼트 대신 새 세그먼트에 이어 쓴다.
+ */
+@Slf4j
+public class TodoWriteAheadLog implements TodoJournal, Closeable {
+
+    static final String SEGMENT_PREFIX = "wal-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    // 길이(4) + crc(4)
+    private static final int FRAME_SIZE = 8;
+    // 종류(1) + 순번(8)
+    private static final int BODY_HEADER_SIZE = 9;
+
+    private static final ThreadLocal<ByteBuffer> SCRATCH = ThreadLocal.withInitial(() -> ByteBuffer.allocate(256));
+
+    // 스레드마다 마지막으로 남긴 기록의 순번. sync() 는 이 순번까지만 기다린다.
+    private static final ThreadLocal<long[]> LAST_APPENDED = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final int segmentSize;
+    private final Duration fsyncInterval;
+    private final Duration snapshotInterval;
+
+    // 덧붙이기와 세그먼트 교체는 appendLock 안에서만 한다.
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32 crc = new CRC32();
+    private final List<Segment> segments = new ArrayList<>();
+    private Segment active;
+    private long lastSeq;
+
+    // flushMonitor 로 보호한다.
+    private final Object flushMonitor = new Object();
+    private long durableSeq;
+    private long requestedSeq;
+    private boolean closed;
+
+    private final Object checkpointLock = new Object();
+    private long snapshotSeq;
+    private Target target;
+
+    private Thread flusher;
+    private ScheduledExecutorService snapshotter;
+
+    public TodoWriteAheadLog(Path directory, FsyncPolicy fsyncPolicy, long segmentSize,
+                             Duration fsyncInterval, Duration snapshotInterval) {
+        if (segmentSize <= FRAME_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentSize 는 2GB 보다 작아야 합니다: " + segmentSize);
+        }
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.segmentSize = (int) segmentSize;
+        this.fsyncInterval = fsyncInterval;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @Override
+    public void recover(Target target) {
+        try {
+            long started = System.nanoTime();
+            Files.createDirectories(directory);
+            deleteTemporaryFiles();
+            this.target = target;
+
+            Path snapshot = latestSnapshot();
+            if (snapshot != null) {
+                snapshotSeq = TodoSnapshots.read(snapshot, target);
+            }
+            long seq = snapshotSeq;
+            long lastId = target.lastId();
+            long replayed = 0;
+            List<Path> files = segmentFiles();
+            for (Path path : files) {
+                Replayed result = replay(path, target);
+                seq = Math.max(seq, result.lastSeq);
+                lastId = Math.max(lastId, result.lastId);
+                replayed += result.count;
+            }
+            target.lastId(lastId);
+            for (Path path : files) {
+                // seq 뒤에서 시작하는 세그먼트에는 유효한 기록이 없다. (기록 없이 재시작한 경우)
+                if (firstSeqOf(path) > seq) {
+                    Files.delete(path);
+                } else {
+                    segments.add(new Segment(firstSeqOf(path), path));
+                }
+            }
+
+            lastSeq = seq;
+            durableSeq = seq;
+            active = Segment.create(directory, seq + 1, segmentSize);
+            segments.add(active);
+            log.info("todo wal recovered: snapshot={}, replayed={} records, {} ms",
+                    snapshot == null ? "none" : snapshot.getFileName(), replayed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            if (replayed > 0) {
+                // 다음 시작이 같은 기록을 다시 읽지 않도록 바로 스냅샷을 뜬다.
+                checkpoint();
+            }
+            start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("todo wal 을 복구하지 못했습니다: " + directory, e);
+        }
+    }
+
+    @Override
+    public void put(Todo todo) {
+        byte[] name = TodoRecords.nameOf(todo);
+        ByteBuffer record = frame(PUT, TodoRecords.sizeOf(name));
+        TodoRecords.write(record, todo, name);
+        append(record);
+    }
+
+    @Override
+    public void delete(long id) {
+        ByteBuffer record = frame(DELETE, 8);
+        record.putLong(id);
+        append(record);
+    }
+
+    @Override
+    public void sync() {
+        if (fsyncPolicy != FsyncPolicy.ALWAYS) {
+            return;
+        }
+        long seq = LAST_APPENDED.get()[0];
+        synchronized (flushMonitor) {
+            if (durableSeq >= seq) {
+                return;
+            }
+            requestedSeq = Math.max(requestedSeq, seq);
+            flushMonitor.notifyAll();
+            while (durableSeq < seq) {
+                if (closed) {
+                    throw new IllegalStateException("todo wal 이 닫혔습니다.");
+                }
+                try {
+                    flushMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("fsync 를 기다리다 중단되었습니다.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 지금 상태를 스냅샷으로 떠서 그 이전 스냅샷과 세그먼트를 지운다. 새 기록이 없으면 건너뛴다.
+     * <p>
+     * 변경은 맵에 반영한 뒤 기록하므로 순번 seq 까지의 변경은 모두 맵에 들어 있다. 스냅샷을 뜨는 동안의 변경은
+     * 들어갈 수도 있고 아닐 수도 있지만, 그 기록(seq 이후)은 복구할 때 다시 적용되고 기록이 전체 상태라 결과가 같다.
+     */
+    public void checkpoint() {
+        synchronized (checkpointLock) {
+            long seq = currentSeq();
+            if (seq == snapshotSeq) {
+                return;
+            }
+            try {
+                Path snapshot = TodoSnapshots.write(directory, seq, target.lastId(), target.todos());
+                snapshotSeq = seq;
+                syncDirectory();
+                for (Path old : snapshotFiles()) {
+                    if (!old.equals(snapshot)) {
+                        Files.deleteIfExists(old);
+                    }
+                }
+                for (Segment segment : removeSegmentsUpTo(seq)) {
+                    Files.deleteIfExists(segment.path);
+                }
+                log.info("todo wal snapshot: {}", snapshot.getFileName());
+            } catch (IOException e) {
+                throw new UncheckedIOException("todo 스냅샷을 쓰지 못했습니다.", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (flushMonitor) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushMonitor.notifyAll();
+        }
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+        }
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        appendLock.lock();
+        try {
+            if (active != null) {
+                active.close(fsyncPolicy != FsyncPolicy.NONE);
+                active = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("todo wal 을 닫지 못했습니다.", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private ByteBuffer frame(byte type, int payloadSize) {
+        int size = FRAME_SIZE + BODY_HEADER_SIZE + payloadSize;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("기록이 세그먼트보다 큽니다: " + size);
+        }
+        ByteBuffer record = SCRATCH.get();
+        if (record.capacity() < size) {
+            record = ByteBuffer.allocate(Integer.highestOneBit(size) << 1);
+            SCRATCH.set(record);
+        }
+        record.clear();
+        // 순번과 체크섬은 덧붙일 때 채운다.
+        record.putInt(BODY_HEADER_SIZE + payloadSize).putInt(0).put(type).putLong(0);
+        return record;
+    }
+
+    private void append(ByteBuffer record) {
+        record.flip();
+        int size = record.remaining();
+        long seq;
+        appendLock.lock();
+        try {
+            if (active == null) {
+                throw new IllegalStateException("todo wal 이 열려 있지 않습니다.");
+            }
+            if (active.buffer.remaining() < size) {
+                roll();
+            }
+            seq = lastSeq + 1;
+            record.putLong(FRAME_SIZE + 1, seq);
+            crc.reset();
+            crc.update(record.array(), FRAME_SIZE, size - FRAME_SIZE);
+            record.putInt(4, (int) crc.getValue());
+            active.buffer.put(record);
+            lastSeq = seq;
+        } catch (IOException e) {
+            throw new UncheckedIOException("todo wal 에 쓰지 못했습니다.", e);
+        } finally {
+            appendLock.unlock();
+        }
+        LAST_APPENDED.get()[0] = seq;
+    }
+
+    // appendLock 안에서 부른다. 이전 세그먼트를 먼저 내려보내야 새 세그먼트만 fsync 해도 앞선 기록이 보장된다.
+    private void roll() throws IOException {
+        active.close(fsyncPolicy != FsyncPolicy.NONE);
+        active = Segment.create(directory, lastSeq + 1, segmentSize);
+        segments.add(active);
+        syncDirectory();
+    }
+
+    private long currentSeq() {
+        appendLock.lock();
+        try {
+            return lastSeq;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 지금까지 덧붙인 기록을 fsync 하고 기다리는 요청을 깨운다. 그동안 들어온 기록은 다음 fsync 에 함께 내려간다.
+     */
+    private void flush() {
+        MappedByteBuffer buffer;
+        long seq;
+        appendLock.lock();
+        try {
+            if (active == null) {
+                return;
+            }
+            // 세그먼트가 바뀌어도 이전 매핑은 그대로 fsync 할 수 있다.
+            buffer = active.buffer;
+            seq = lastSeq;
+        } finally {
+            appendLock.unlock();
+        }
+        buffer.force();
+        synchronized (flushMonitor) {
+            durableSeq = Math.max(durableSeq, seq);
+            flushMonitor.notifyAll();
+        }
+    }
+
+    private void start() {
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            flusher = daemon("todo-wal-flusher", this::flushOnRequest);
+        } else if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            flusher = daemon("todo-wal-flusher", this::flushPeriodically);
+        }
+        if (!snapshotInterval.isZero() && !snapshotInterval.isNegative()) {
+            snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "todo-wal-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = snapshotInterval.toMillis();
+            snapshotter.scheduleWithFixedDelay(() -> {
+                try {
+                    checkpoint();
+                } catch (RuntimeException e) {
+                    log.error("todo 스냅샷을 뜨지 못했습니다.", e);
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushOnRequest() {
+        while (true) {
+            synchronized (flushMonitor) {
+                while (!closed && requestedSeq <= durableSeq) {
+                    try {
+                        flushMonitor.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+            }
+            flush();
+        }
+    }
+
+    private void flushPeriodically() {
+        while (true) {
+            try {
+                Thread.sleep(fsyncInterval.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (currentSeq() > durableSeq()) {
+                flush();
+            }
+        }
+    }
+
+    private long durableSeq() {
+        synchronized (flushMonitor) {
+            return durableSeq;
+        }
+    }
+
+    private List<Segment> removeSegmentsUpTo(long seq) {
+        appendLock.lock();
+        try {
+            // 다음 세그먼트가 seq 이하에서 시작하면 이 세그먼트의 기록은 모두 스냅샷에 들어 있다.
+            List<Segment> removed = new ArrayList<>();
+            while (segments.size() > 1 && segments.get(1).firstSeq <= seq + 1) {
+                removed.add(segments.remove(0));
+            }
+            return removed;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private Replayed replay(Path path, Target target) throws IOException {
+        Replayed result = new Replayed();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32 checksum = new CRC32();
+            while (buffer.remaining() >= FRAME_SIZE) {
+                int position = buffer.position();
+                int bodySize = buffer.getInt(position);
+                if (bodySize == 0) {
+                    break;
+                }
+                if (bodySize < BODY_HEADER_SIZE || bodySize > buffer.remaining() - FRAME_SIZE) {
+                    log.warn("todo wal {} 의 {} 위치부터 버립니다: 잘못된 길이 {}", path.getFileName(), position, bodySize);
+                    break;
+                }
+                ByteBuffer body = buffer.duplicate();
+                body.position(position + FRAME_SIZE).limit(position + FRAME_SIZE + bodySize);
+                checksum.reset();
+                checksum.update(body.duplicate());
+                if ((int) checksum.getValue() != buffer.getInt(position + 4)) {
+                    log.warn("todo wal {} 의 {} 위치부터 버립니다: 체크섬 불일치", path.getFileName(), position);
+                    break;
+                }
+                byte type = body.get();
+                long seq = body.getLong();
+                buffer.position(position + FRAME_SIZE + bodySize);
+                if (seq <= snapshotSeq) {
+                    continue;
+                }
+                if (type == PUT) {
+                    Todo todo = TodoRecords.read(body);
+                    target.put(todo);
+                    result.lastId = Math.max(result.lastId, todo.getId());
+                } else {
+                    long id = body.getLong();
+                    target.delete(id);
+                    result.lastId = Math.max(result.lastId, id);
+                }
+                result.lastSeq = seq;
+                result.count++;
+            }
+        }
+        return result;
+    }
+
+    private Path latestSnapshot() throws IOException {
+        List<Path> snapshots = snapshotFiles();
+        return snapshots.isEmpty() ? null : snapshots.get(snapshots.size() - 1);
+    }
+
+    private List<Path> snapshotFiles() throws IOException {
+        return list(TodoSnapshots.PREFIX, TodoSnapshots.SUFFIX);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        return list(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+    }
+
+    // 파일 이름의 순번을 0 으로 채워 두었으므로 이름순이 순번순이다.
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private void deleteTemporaryFiles() throws IOException {
+        for (Path file : list(TodoSnapshots.PREFIX, TodoSnapshots.TEMPORARY_SUFFIX)) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // 새로 만들거나 이름을 바꾼 파일이 전원이 나가도 남도록 디렉터리도 fsync 한다.
+    private void syncDirectory() {
+        if (fsyncPolicy == FsyncPolicy.NONE) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("디렉터리를 fsync 하지 못했습니다: {}", directory, e);
+        }
+    }
+
+    private static long firstSeqOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static Thread daemon(String name, Runnable runnable) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static final class Replayed {
+        private long lastSeq;
+        private long lastId;
+        private long count;
+    }
+
+    /**
+     * WAL 세그먼트 파일. 새 세그먼트만 쓰기용으로 매핑하고, 복구할 때 읽은 세그먼트는 경로와 시작 순번만 가진다.
+     */
+    private static final class Segment {
+
+        private final long firstSeq;
+        private final Path path;
+        private FileChannel channel;
+        private MappedByteBuffer buffer;
+
+        private Segment(long firstSeq, Path path) {
+            this.firstSeq = firstSeq;
+            this.path = path;
+        }
+
+        static Segment create(Path directory, long firstSeq, int size) throws IOException {
+            Segment segment = new Segment(firstSeq,
+                    directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX)));
+            segment.channel = FileChannel.open(segment.path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // 파일 크기만 잡아 두면 나머지는 0 으로 읽힌다.
+            segment.buffer = segment.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return segment;
+        }
+
+        void close(boolean force) throws IOException {
+            if (buffer == null) {
+                return;
+            }
+            if (force) {
+                buffer.force();
+            }
+            channel.close();
+            channel = null;
+            buffer = null;
+        }
+    }
+}
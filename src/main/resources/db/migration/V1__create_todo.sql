@@ -0,0 +1,20 @@
+-- Todo 엔티티의 id 생성기(todo_seq, allocationSize 50)와 같은 증가폭을 쓴다.
+create sequence todo_seq start with 1 increment by 50;
+
+create table todo (
+    id           bigint       not null,
+    name         varchar(255),
+    completed    boolean      not null default false,
+    completed_at timestamp,
+    created_at   timestamp    not null default current_timestamp,
+    updated_at   timestamp    not null default current_timestamp,
+    version      bigint       not null default 0,
+    constraint pk_todo primary key (id)
+);
+
+-- 완료 여부 필터 + id 역순 정렬(목록, 커서)을 인덱스만으로 처리한다.
+create index idx_todo_completed_id on todo (completed, id desc);
+-- 생성일 범위 조회
+create index idx_todo_created_at on todo (created_at);
+-- 목록 ETag 의 max(updated_at)
+create index idx_todo_updated_at on todo (updated_at);
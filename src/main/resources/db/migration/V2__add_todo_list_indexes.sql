@@ -0,0 +1,13 @@
+-- 목록 필터(completed, created_after/created_before, name 앞부분)와 정렬(TodoSort)용 인덱스.
+-- H2 는 인덱스를 거꾸로 읽지 못하므로 역순 정렬은 역순 인덱스를 따로 둔다.
+
+-- 기본 목록(id 역순)
+create index idx_todo_id_desc on todo (id desc);
+-- 생성일 범위 + 생성일 정렬. 동순위는 id 로 정렬한다.
+drop index idx_todo_created_at;
+create index idx_todo_created_at_id on todo (created_at, id);
+create index idx_todo_created_at_id_desc on todo (created_at desc, id desc);
+-- 완료 여부 + 최신 생성순
+create index idx_todo_completed_created_at_id_desc on todo (completed, created_at desc, id desc);
+-- 이름 앞부분 검색(name like 'abc%') + 이름순
+create index idx_todo_name_id on todo (name, id);
@@ -0,0 +1,10 @@
+-- API 키. 키 원문은 저장하지 않고 SHA-256 해시(hex 64자)만 둔다. 해시로 찾으므로 유일 인덱스를 둔다.
+create table api_key (
+    id         bigint       generated by default as identity,
+    name       varchar(100) not null,
+    key_hash   varchar(64)  not null,
+    enabled    boolean      not null default true,
+    created_at timestamp    not null default current_timestamp,
+    constraint pk_api_key primary key (id),
+    constraint uk_api_key_key_hash unique (key_hash)
+);
@@ -0,0 +1,17 @@
+-- POST /todos 의 Idempotency-Key 별 응답. todo.idempotency.store=jpa 일 때만 쓴다.
+-- 키 하나에 한 번만 저장되도록 키를 기본 키로 두고, 만료된 행은 created_at 으로 지운다.
+create table todo_idempotency (
+    idempotency_key varchar(400) not null,
+    request_hash    varchar(32)  not null,
+    todo_id         bigint       not null,
+    name            varchar(255),
+    completed       boolean,
+    completed_at    timestamp,
+    todo_created_at timestamp,
+    todo_updated_at timestamp,
+    todo_version    bigint,
+    created_at      timestamp    not null,
+    constraint pk_todo_idempotency primary key (idempotency_key)
+);
+
+create index idx_todo_idempotency_created_at on todo_idempotency (created_at);
@@ -0,0 +1,7 @@
+-- baseline 한 기존 스키마는 todo_seq 가 1 부터 시작하므로 이미 있는 id 를 다시 줄 수 있다.
+-- 다음 값을 max(id) + 51 로 옮겨 Hibernate(pooled, allocationSize 50)가 받는 첫 구간 [max(id) + 2, max(id) + 51] 이 기존 id 와 겹치지 않게 한다.
+-- 이미 그보다 앞서 있으면(다른 노드가 받아 간 구간) 되돌리지 않는다. 증가폭 50 은 그대로 둔다.
+alter sequence todo_seq restart with (
+    select greatest(coalesce(max(id), 0) + 51,
+                    (select current_value + 50 from information_schema.sequences where sequence_name = 'TODO_SEQ'))
+    from todo);
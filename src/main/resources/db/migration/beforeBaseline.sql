@@ -0,0 +1,18 @@
+-- Flyway 이전에 ddl-auto 로 만든 기존 스키마를 V1 과 같게 맞춘다.
+-- baseline-on-migrate 로 기록 테이블 없는 스키마를 V1 로 baseline 할 때만 실행된다. (application-prod.yml)
+create sequence if not exists todo_seq start with 1 increment by 50;
+
+alter table todo add column if not exists version bigint not null default 0;
+update todo set completed = false where completed is null;
+update todo set created_at = current_timestamp where created_at is null;
+update todo set updated_at = created_at where updated_at is null;
+alter table todo alter column completed set default false;
+alter table todo alter column completed set not null;
+alter table todo alter column created_at set default current_timestamp;
+alter table todo alter column created_at set not null;
+alter table todo alter column updated_at set default current_timestamp;
+alter table todo alter column updated_at set not null;
+
+create index if not exists idx_todo_completed_id on todo (completed, id desc);
+create index if not exists idx_todo_created_at on todo (created_at);
+create index if not exists idx_todo_updated_at on todo (updated_at);
@@ -0,0 +1,62 @@
+package com.example.todo.auth;
+
+import com.example.todo.entity.ApiKey;
+import com.example.todo.repository.ApiKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:apikey;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class ApiKeyFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyRepository.deleteAll();
+        apiKeyRepository.save(ApiKey.of("client", ApiKeyRegistry.toHex(ApiKeyRegistry.hash("secret"))));
+    }
+
+    @DisplayName("등록된 키로만 쓰기 요청을 할 수 있다.")
+    @Test
+    void 쓰기_요청_인증() throws Exception {
+        mockMvc.perform(create().header(ApiKeyFilter.HEADER, "secret"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(create().header(ApiKeyFilter.HEADER, "anything"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"status\":\"401\",\"error\":\"Not Authorized\"}", true));
+        mockMvc.perform(create())
+                .andExpect(status().isUnauthorized());
+    }
+
+    @DisplayName("조회는 키 없이 할 수 있다.")
+    @Test
+    void 조회는_키_없이() throws Exception {
+        mockMvc.perform(get("/todos").param("skip", "0").param("limit", "10"))
+                .andExpect(status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder create() {
+        return post("/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"auth\"}");
+    }
+}
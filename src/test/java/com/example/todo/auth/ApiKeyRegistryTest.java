@@ -0,0 +1,77 @@
+package com.example.todo.auth;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiKeyRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private final ApiKeyStore apiKeyStore = keyHash -> {
+        lookups.incrementAndGet();
+        return ApiKeyRegistry.toHex(keyHash).equals(ApiKeyRegistry.toHex(ApiKeyRegistry.hash("secret")))
+                ? Optional.of("client")
+                : Optional.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @DisplayName("확인한 키는 캐시에서 찾아 저장소를 다시 읽지 않고, 키별 요청 수를 센다.")
+    @Test
+    void 등록된_키() {
+        ApiKeyRegistry registry = new ApiKeyRegistry(apiKeyStore, Duration.ofMinutes(5), Duration.ofSeconds(30), 100);
+
+        assertThat(registry.authenticate("secret")).contains("client");
+        assertThat(registry.authenticate("secret")).contains("client");
+
+        assertThat(lookups).hasValue(1);
+        assertThat(meterRegistry.get(ApiKeyRegistry.METRIC_NAME).tag("key", "client").tag("result", "accepted").counter().count())
+                .isEqualTo(2);
+    }
+
+    @DisplayName("없는 키도 negative-ttl 동안 캐시하고, 지나면 저장소를 다시 읽는다.")
+    @Test
+    void 없는_키() throws Exception {
+        ApiKeyRegistry registry = new ApiKeyRegistry(apiKeyStore, Duration.ofMinutes(5), Duration.ofMillis(100), 100);
+
+        assertThat(registry.authenticate("guess")).isEmpty();
+        assertThat(registry.authenticate("guess")).isEmpty();
+        assertThat(lookups).hasValue(1);
+
+        Thread.sleep(200);
+
+        assertThat(registry.authenticate("guess")).isEmpty();
+        assertThat(lookups).hasValue(2);
+        assertThat(meterRegistry.get(ApiKeyRegistry.METRIC_NAME).tag("result", "rejected").counter().count())
+                .isEqualTo(3);
+    }
+
+    @DisplayName("해시는 SHA-256 hex 로 주고받는다.")
+    @Test
+    void 해시() {
+        String hex = ApiKeyRegistry.toHex(ApiKeyRegistry.hash("key"));
+
+        assertThat(hex).isEqualTo("2c70e12b7a0646f92279f427c7b38e7334d8e5389cff167a1dc30e73f826b683");
+        assertThat(ApiKeyRegistry.fromHex(hex)).isEqualTo(ApiKeyRegistry.hash("key"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.todo.auth;
+
+import com.example.todo.repository.ApiKeyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:apikeyseed;DB_CLOSE_DELAY=-1",
+        // SHA-256("key"), 대문자 hex
+        "todo.api-key.keys.seeded=2C70E12B7A0646F92279F427C7B38E7334D8E5389CFF167A1DC30E73F826B683"
+})
+class JpaApiKeyStoreTest {
+
+    @Autowired
+    private JpaApiKeyStore jpaApiKeyStore;
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @DisplayName("설정한 키는 시작할 때 테이블에 들어가고, 이미 있으면 다시 넣지 않는다.")
+    @Test
+    void 설정_키_등록() {
+        assertThat(jpaApiKeyStore.findName(ApiKeyRegistry.hash("key"))).contains("seeded");
+
+        jpaApiKeyStore.seed();
+
+        assertThat(apiKeyRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.todo.controller;
+
+import com.example.todo.config.AsyncExecutionConfig;
+import com.example.todo.dto.TodoDto;
+import com.example.todo.idempotency.IdempotencyCache;
+import com.example.todo.service.TodoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.restdocs.RestDocumentationExtension;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.todo.ApiDocumentUtils.getDocumentRequest;
+import static com.example.todo.ApiDocumentUtils.getDocumentResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith({RestDocumentationExtension.class, SpringExtension.class})
+@WebMvcTest(value = TodoController.class, properties = {
+        "todo.execution.mode=async",
+        "todo.execution.threads=1",
+        "todo.execution.max-concurrency=1"})
+@Import(AsyncExecutionConfig.class)
+@AutoConfigureRestDocs
+class TodoControllerAsyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoService todoService;
+
+    @MockBean
+    private IdempotencyCache idempotencyCache;
+
+    @DisplayName("async 모드에서는 todo 조회를 전용 스레드에서 처리한다.")
+    @Test
+    void getTodo_async() throws Exception {
+        // given
+        Long todoId = 1l;
+        String[] thread = new String[1];
+        willAnswer(invocation -> {
+            thread[0] = Thread.currentThread().getName();
+            return makeTodoDto(todoId);
+        }).given(todoService).getTodo(todoId);
+
+        // when
+        MvcResult started = mockMvc.perform(get("/todos/{todoId}", todoId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(todoId));
+        assertThat(thread[0]).startsWith("todo-request-");
+    }
+
+    @DisplayName("async 모드에서 처리 중인 요청이 가득 차면 503에러가 난다.")
+    @Test
+    void getTodo_503() throws Exception {
+        // given
+        Long todoId = 1l;
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return makeTodoDto(todoId);
+        }).given(todoService).getTodo(todoId);
+        MvcResult first = mockMvc.perform(get("/todos/{todoId}", todoId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        try {
+            mockMvc.perform(get("/todos/{todoId}", todoId)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(503))
+                    .andDo(document("todo/get-todo/error/503",
+                            getDocumentRequest(),
+                            getDocumentResponse(),
+                            pathParameters(
+                                    parameterWithName("todoId").description("TODO 아이디")
+                            )));
+        } finally {
+            release.countDown();
+        }
+
+        // then
+        mockMvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk());
+    }
+
+    private TodoDto makeTodoDto(Long todoId) {
+        return TodoDto.builder()
+                .id(todoId)
+                .name("test name")
+                .completed(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .version(0L)
+                .build();
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.todo.controller;
 
+import com.example.todo.auth.ApiKeyRegistry;
+import com.example.todo.config.ApiKeyConfig;
 import com.example.todo.dto.TodoDto;
 import com.example.todo.dto.TodoListDto;
 import com.example.todo.dto.TodoRequest;
+import com.example.todo.idempotency.IdempotencyCache;
 import com.example.todo.response.ErrorCode;
 import com.example.todo.response.exception.BusinessException;
 import com.example.todo.service.TodoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +18,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.restdocs.RestDocumentationExtension;
 import org.springframework.restdocs.payload.JsonFieldType;
@@ -24,21 +30,28 @@ import org.springframework.test.web.servlet.ResultActions;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static com.example.todo.ApiDocumentUtils.getDocumentRequest;
 import static com.example.todo.ApiDocumentUtils.getDocumentResponse;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.*;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
 import static org.springframework.restdocs.request.RequestDocumentation.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith({RestDocumentationExtension.class, SpringExtension.class})
 @WebMvcTest(TodoController.class)
+@Import(ApiKeyConfig.class)
 @AutoConfigureRestDocs
 class TodoControllerExceptionTest {
 
@@ -48,9 +61,21 @@ class TodoControllerExceptionTest {
     @MockBean
     private TodoService todoService;
 
+    @MockBean
+    private IdempotencyCache idempotencyCache;
+
+    // 401 은 컨트롤러가 아니라 ApiKeyFilter 가 응답한다.
+    @MockBean
+    private ApiKeyRegistry apiKeyRegistry;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    void setUp() {
+        given(apiKeyRegistry.authenticate("123")).willReturn(Optional.of("client"));
+    }
+
     @DisplayName("todo 조회시, 없는 아이디를 조회하면 404에러가 발생한다.")
     @Test
     void getTodo_404() throws Exception {
@@ -74,6 +99,24 @@ class TodoControllerExceptionTest {
                         )));
     }
 
+    @DisplayName("예상된 에러는 스택 트레이스 없이 던지고, 미리 만들어 둔 JSON 본문으로 응답한다.")
+    @Test
+    void getTodo_404_본문() throws Exception {
+        // given
+        BusinessException notFound = new BusinessException(ErrorCode.NOT_FOUND);
+        given(todoService.getTodo(10000l)).willThrow(notFound);
+
+        // when
+        ResultActions result = mockMvc.perform(get("/todos/{todoId}", 10000l));
+
+        // then
+        result.andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"status\":\"404\",\"error\":\"Not Found\"}", true));
+        assertThat(notFound.getStackTrace()).isEmpty();
+        assertThat(new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR).getStackTrace()).isNotEmpty();
+    }
+
     @DisplayName("todo 수정시 apikey가 없으면 401에러가 난다.")
     @Test
     void updateTodo_401() throws Exception {
@@ -114,6 +157,68 @@ class TodoControllerExceptionTest {
                 ));
     }
 
+    @DisplayName("todo 수정시 If-Match 버전이 다르면 412에러가 난다.")
+    @Test
+    void updateTodo_412() throws Exception {
+        // given
+        Long todoId = 1l;
+        given(todoService.updateTodo(eq(1l), any(TodoRequest.class), eq(3l)))
+                .willThrow(new BusinessException(ErrorCode.PRECONDITION_FAILED));
+
+        // when
+        TodoRequest request = new TodoRequest("update name", true);
+        ResultActions result = mockMvc.perform(
+                put("/todos/{todoId}", todoId)
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("apikey", 123)
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+        );
+
+        // then
+        result.andExpect(status().is(412))
+                .andDo(document("todo/update/error/412",
+                        getDocumentRequest(),
+                        getDocumentResponse(),
+                        pathParameters(
+                                parameterWithName("todoId").description("TODO 아이디")
+                        )
+                ));
+    }
+
+    @DisplayName("todo 수정시 If-Match 가 다른 todo 의 ETag 이면 412에러가 난다.")
+    @Test
+    void updateTodo_412_다른_ETag() throws Exception {
+        // when
+        TodoRequest request = new TodoRequest("update name", true);
+        ResultActions result = mockMvc.perform(
+                put("/todos/{todoId}", 1l)
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("apikey", 123)
+                        .header(HttpHeaders.IF_MATCH, "\"2-3\"")
+        );
+
+        // then
+        result.andExpect(status().is(412));
+    }
+
+    @DisplayName("todo 부분 수정시 수정할 수 없는 필드가 있으면 400에러가 난다.")
+    @Test
+    void patchTodo_400() throws Exception {
+        // when
+        ResultActions result = mockMvc.perform(
+                patch("/todos/{todoId}", 1l)
+                        .content("{\"completed\":null}")
+                        .contentType("application/merge-patch+json")
+                        .header("apikey", 123)
+        );
+
+        // then
+        result.andExpect(status().isBadRequest());
+    }
+
     @DisplayName("todo 삭제시 apikey가 없으면 401에러가 난다.")
     @Test
     void deleteTodo_401() throws Exception {
@@ -181,7 +286,7 @@ class TodoControllerExceptionTest {
         // given
         int skip = 0;
         int limit = 10;
-        given(todoService.getTodos(skip, limit))
+        given(todoService.getListVersion())
                 .willThrow(new BusinessException(ErrorCode.INTERNAL_SERVER_ERROR));
         // when
         TodoRequest request = new TodoRequest("test name", false);
@@ -225,5 +330,32 @@ class TodoControllerExceptionTest {
                 ));
     }
 
+    @DisplayName("허용하지 않는 정렬이나 형식이 잘못된 조건으로 목록을 조회하면 400 을 돌려준다.")
+    @Test
+    void getTodos_잘못된_조건_400() throws Exception {
+        // when
+        ResultActions result = mockMvc.perform(
+                get("/todos")
+                        .param("skip", "0")
+                        .param("limit", "10")
+                        .param("sort", "completed_at,desc")
+        );
+        ResultActions invalidDate = mockMvc.perform(
+                get("/todos")
+                        .param("skip", "0")
+                        .param("limit", "10")
+                        .param("created_after", "yesterday")
+        );
+
+        // then
+        result.andExpect(status().is(400))
+                .andDo(document("todo/list-todo/error/400-sort",
+                        getDocumentRequest(),
+                        getDocumentResponse()
+                ));
+        invalidDate.andExpect(status().is(400));
+        verify(todoService, never()).getTodos(any(), any(), anyInt(), anyInt(), any());
+    }
+
 
 }
\ No newline at end of file
@@ -1,44 +1,83 @@
 package com.example.todo.controller;
 
+import com.example.todo.dto.TodoBatchResultDto;
+import com.example.todo.dto.TodoBatchUpdateRequest;
+import com.example.todo.dto.TodoCounts;
+import com.example.todo.dto.TodoCursor;
+import com.example.todo.dto.TodoCursorPageDto;
 import com.example.todo.dto.TodoDto;
 import com.example.todo.dto.TodoListDto;
+import com.example.todo.dto.TodoListFilter;
+import com.example.todo.dto.TodoListVersion;
 import com.example.todo.dto.TodoRequest;
+import com.example.todo.dto.TodoSort;
+import com.example.todo.dto.TodoUrl;
+import com.example.todo.dto.TodoUrlMode;
+import com.example.todo.idempotency.IdempotencyCache;
+import com.example.todo.response.ErrorCode;
 import com.example.todo.service.TodoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.restdocs.RestDocumentationExtension;
 import org.springframework.restdocs.payload.JsonFieldType;
+import org.springframework.restdocs.payload.ResponseFieldsSnippet;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static com.example.todo.ApiDocumentUtils.getDocumentRequest;
 import static com.example.todo.ApiDocumentUtils.getDocumentResponse;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
+import static org.springframework.restdocs.headers.HeaderDocumentation.requestHeaders;
+import static org.springframework.restdocs.headers.HeaderDocumentation.responseHeaders;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.*;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
 import static org.springframework.restdocs.request.RequestDocumentation.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith({RestDocumentationExtension.class, SpringExtension.class})
 @WebMvcTest(TodoController.class)
+@Import(IdempotencyCache.class)
 @AutoConfigureRestDocs
 class TodoControllerTest {
 
+    private static final TodoUrl.Base TODO_URL = TodoUrl.base("http://localhost:8080/todos/");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -48,6 +87,11 @@ class TodoControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    void setUp() {
+        given(todoService.getCounts()).willReturn(new TodoCounts(10, 3));
+    }
+
     @Test
     void getTodo() throws Exception {
         // given
@@ -78,6 +122,57 @@ class TodoControllerTest {
                         )));
     }
 
+    @DisplayName("ETag 가 같으면 본문 없이 304 를 돌려준다.")
+    @Test
+    void getTodo_304() throws Exception {
+        // given
+        TodoDto response = makeTodoDto(1l, "test name", false);
+        given(todoService.getTodo(1l)).willReturn(response);
+        String eTag = mockMvc.perform(get("/todos/{todoId}", 1l))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        ResultActions result = mockMvc.perform(
+                get("/todos/{todoId}", 1l)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        );
+
+        // then
+        result.andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(document("todo/get-todo/not-modified",
+                        getDocumentRequest(),
+                        getDocumentResponse(),
+                        pathParameters(
+                                parameterWithName("todoId").description("TODO 아이디")
+                        )));
+    }
+
+    @DisplayName("목록 ETag 가 같으면 목록을 조회하지 않고 304 를 돌려준다.")
+    @Test
+    void listTodos_304() throws Exception {
+        // given
+        given(todoService.getListVersion())
+                .willReturn(makeListVersion(10, LocalDateTime.now()));
+        String eTag = mockMvc.perform(get("/todos").param("skip", "0").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        ResultActions result = mockMvc.perform(
+                get("/todos")
+                        .param("skip", "0")
+                        .param("limit", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+        );
+
+        // then
+        result.andExpect(status().isNotModified());
+        verify(todoService, times(1)).getTodos(any(TodoListFilter.class), eq(TodoSort.ID_DESC), eq(0), eq(10), eq(TodoUrlMode.INLINE));
+    }
+
     @Test
     void updateTodo() throws Exception {
         // given
@@ -118,6 +213,84 @@ class TodoControllerTest {
                 ));
     }
 
+    @DisplayName("If-Match 가 있으면 버전 조건부 수정을 하고 새 ETag 를 돌려준다.")
+    @Test
+    void updateTodo_ifMatch() throws Exception {
+        // given
+        Long todoId = 1l;
+        TodoDto response = TodoDto.builder()
+                .id(todoId)
+                .name("update name")
+                .completed(true)
+                .completedAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .version(4l)
+                .build();
+        given(todoService.updateTodo(eq(1l), any(TodoRequest.class), eq(3l)))
+                .willReturn(response);
+
+        // when
+        TodoRequest request = new TodoRequest("update name", true);
+        ResultActions result = mockMvc.perform(
+                put("/todos/{todoId}", todoId)
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("apikey", 123)
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+        );
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+                .andDo(document("todo/update-if-match",
+                        getDocumentRequest(),
+                        getDocumentResponse(),
+                        pathParameters(
+                                parameterWithName("todoId").description("TODO 아이디")
+                        ),
+                        requestFields(
+                                fieldWithPath("name").type(JsonFieldType.STRING).description("TODO 이름"),
+                                fieldWithPath("completed").type(JsonFieldType.BOOLEAN).description("TODO 완료 여부")
+                        )
+                ));
+    }
+
+    @DisplayName("merge patch 로 보낸 필드만 수정한다.")
+    @Test
+    void patchTodo() throws Exception {
+        // given
+        Long todoId = 1l;
+        TodoDto response = makeTodoDto(todoId, "test name", true);
+        given(todoService.patchTodo(eq(1l), any(), eq(null)))
+                .willReturn(response);
+
+        // when
+        ResultActions result = mockMvc.perform(
+                patch("/todos/{todoId}", todoId)
+                        .content("{\"completed\":true}")
+                        .contentType(TodoController.APPLICATION_MERGE_PATCH_JSON_VALUE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("apikey", 123)
+        );
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andDo(document("todo/patch",
+                        getDocumentRequest(),
+                        getDocumentResponse(),
+                        pathParameters(
+                                parameterWithName("todoId").description("TODO 아이디")
+                        ),
+                        requestFields(
+                                fieldWithPath("completed").type(JsonFieldType.BOOLEAN).optional().description("TODO 완료 여부"),
+                                fieldWithPath("name").type(JsonFieldType.STRING).optional().description("TODO 이름")
+                        )
+                ));
+    }
+
     @Test
     void deleteTodo() throws Exception {
         // given
@@ -179,14 +352,154 @@ class TodoControllerTest {
                 ));
     }
 
+    @DisplayName("같은 Idempotency-Key 로 다시 보내면 새로 만들지 않고 처음 응답을 돌려주고, 본문이 다르면 422 를 돌려준다.")
+    @Test
+    void createTodo_idempotent() throws Exception {
+        // given
+        TodoRequest request = new TodoRequest("test name", false);
+        given(todoService.createTodo(any(TodoRequest.class)))
+                .willReturn(makeTodoDto(1l, "test name", false), makeTodoDto(2l, "test name", false));
+
+        // when
+        ResultActions first = mockMvc.perform(createIdempotent("create-idempotent", request));
+        ResultActions retry = mockMvc.perform(createIdempotent("create-idempotent", request));
+        ResultActions changed = mockMvc.perform(createIdempotent("create-idempotent", new TodoRequest("other name", false)));
+
+        // then
+        first.andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andDo(document("todo/create-idempotent",
+                        getDocumentRequest(),
+                        getDocumentResponse(),
+                        requestHeaders(
+                                headerWithName(TodoController.IDEMPOTENCY_KEY_HEADER)
+                                        .description("재시도를 알아보는 키 (최대 255자). 같은 키로 다시 보내면 처음 응답을 돌려준다.")
+                                        .optional()
+                        )
+                ));
+        retry.andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+        changed.andExpect(status().isUnprocessableEntity());
+        verify(todoService, times(1)).createTodo(any(TodoRequest.class));
+    }
+
+    private MockHttpServletRequestBuilder createIdempotent(String idempotencyKey, TodoRequest request) throws Exception {
+        return post("/todos")
+                .content(objectMapper.writeValueAsString(request))
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .header("apikey", 123)
+                .header(TodoController.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+    }
+
+    @Test
+    void createTodos() throws Exception {
+        // given
+        List<TodoRequest> requests = List.of(new TodoRequest("first", false), new TodoRequest("second", true));
+        List<TodoBatchResultDto> response = List.of(
+                TodoBatchResultDto.success(0, HttpStatus.CREATED, makeTodoDto(1l, "first", false)),
+                TodoBatchResultDto.success(1, HttpStatus.CREATED, makeTodoDto(2l, "second", true)));
+        given(todoService.createTodos(any()))
+                .willReturn(response);
+
+        // when
+        ResultActions result = mockMvc.perform(
+                post("/todos/batch")
+                        .content(objectMapper.writeValueAsString(requests))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("apikey", 123)
+        );
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].status").value("201"))
+                .andDo(document("todo/create-batch",
+                        getDocumentRequest(),
+                        getDocumentResponse(),
+                        requestFields(
+                                fieldWithPath("[].name").type(JsonFieldType.STRING).description("TODO 이름"),
+                                fieldWithPath("[].completed").type(JsonFieldType.BOOLEAN).description("TODO 완료 여부")
+                        ),
+                        batchResponseFields()
+                ));
+    }
+
+    @Test
+    void updateTodos() throws Exception {
+        // given
+        List<TodoBatchUpdateRequest> requests = List.of(
+                new TodoBatchUpdateRequest(1l, "update name", true),
+                new TodoBatchUpdateRequest(999l, "missing", false));
+        List<TodoBatchResultDto> response = List.of(
+                TodoBatchResultDto.success(0, HttpStatus.OK, makeTodoDto(1l, "update name", true)),
+                TodoBatchResultDto.failure(1, 999l, ErrorCode.NOT_FOUND));
+        given(todoService.updateTodos(any()))
+                .willReturn(response);
+
+        // when
+        ResultActions result = mockMvc.perform(
+                patch("/todos/batch")
+                        .content(objectMapper.writeValueAsString(requests))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("apikey", 123)
+        );
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].status").value("404"))
+                .andDo(document("todo/update-batch",
+                        getDocumentRequest(),
+                        getDocumentResponse(),
+                        requestFields(
+                                fieldWithPath("[].id").type(JsonFieldType.NUMBER).description("TODO 아이디"),
+                                fieldWithPath("[].name").type(JsonFieldType.STRING).description("TODO 이름"),
+                                fieldWithPath("[].completed").type(JsonFieldType.BOOLEAN).description("TODO 완료 여부")
+                        ),
+                        batchResponseFields()
+                ));
+    }
+
+    @Test
+    void deleteTodos() throws Exception {
+        // given
+        List<Long> todoIds = List.of(1l, 999l);
+        List<TodoBatchResultDto> response = List.of(
+                TodoBatchResultDto.success(0, HttpStatus.NO_CONTENT, 1l),
+                TodoBatchResultDto.failure(1, 999l, ErrorCode.NOT_FOUND));
+        given(todoService.deleteTodos(todoIds))
+                .willReturn(response);
+
+        // when
+        ResultActions result = mockMvc.perform(
+                delete("/todos/batch")
+                        .content(objectMapper.writeValueAsString(todoIds))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("apikey", 123)
+        );
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("204"))
+                .andDo(document("todo/delete-batch",
+                        getDocumentRequest(),
+                        getDocumentResponse(),
+                        batchResponseFields()
+                ));
+    }
+
     @Test
     void listTodos() throws Exception {
         // given
         int skip = 0;
         int limit = 10;
         List<TodoListDto> response = makeFixture();
-        given(todoService.getTodos(skip, limit))
+        given(todoService.getTodos(any(TodoListFilter.class), eq(TodoSort.ID_DESC), eq(skip), eq(limit), eq(TodoUrlMode.INLINE)))
                 .willReturn(response);
+        given(todoService.getListVersion())
+                .willReturn(makeListVersion(10, LocalDateTime.now()));
 
         // when
         TodoRequest request = new TodoRequest("test name", false);
@@ -201,17 +514,272 @@ class TodoControllerTest {
 
         // then
         result.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].url").value("http://localhost:8080/todos/10"))
+                .andExpect(header().string(HttpHeaders.VARY, TodoController.URL_MODE_HEADER))
+                .andExpect(header().string(TodoController.TOTAL_HEADER, "10"))
+                .andExpect(header().string(TodoController.COMPLETED_TOTAL_HEADER, "3"))
                 .andDo(document("todo/get-list",
                         getDocumentRequest(),
                         getDocumentResponse(),
                         requestParameters(
                                 parameterWithName("skip").description("skip"),
                                 parameterWithName("limit").description("limit")
+                        ),
+                        responseHeaders(
+                                headerWithName(TodoController.TOTAL_HEADER).description("전체 todo 개수 (필터와 무관)"),
+                                headerWithName(TodoController.COMPLETED_TOTAL_HEADER).description("완료된 todo 개수 (필터와 무관)")
+                        )
+                ));
+    }
+
+    @DisplayName("완료 여부, 생성일 범위, 이름 앞부분으로 거르고 정렬해서 목록을 조회한다.")
+    @Test
+    void listTodos_filter() throws Exception {
+        // given
+        List<TodoListDto> response = makeFixture();
+        ArgumentCaptor<TodoListFilter> filter = ArgumentCaptor.forClass(TodoListFilter.class);
+        given(todoService.getTodos(filter.capture(), eq(TodoSort.CREATED_AT_DESC), eq(0), eq(10), eq(TodoUrlMode.INLINE)))
+                .willReturn(response);
+        given(todoService.getListVersion())
+                .willReturn(makeListVersion(10, LocalDateTime.now()));
+
+        // when
+        ResultActions result = mockMvc.perform(
+                get("/todos")
+                        .param("skip", "0")
+                        .param("limit", "10")
+                        .param("completed", "true")
+                        .param("created_after", "2022-01-01T00:00:00")
+                        .param("created_before", "2022-02-01T00:00:00")
+                        .param("name", "test")
+                        .param("sort", "created_at,desc")
+                        .accept(MediaType.APPLICATION_JSON)
+        );
+
+        // then
+        result.andExpect(status().isOk())
+                .andDo(document("todo/get-list-filter",
+                        getDocumentRequest(),
+                        getDocumentResponse(),
+                        requestParameters(
+                                parameterWithName("skip").description("skip"),
+                                parameterWithName("limit").description("limit"),
+                                parameterWithName("completed").description("완료 여부").optional(),
+                                parameterWithName("created_after").description("이 시각 이후에 생성된 todo (ISO-8601)").optional(),
+                                parameterWithName("created_before").description("이 시각 이전에 생성된 todo (ISO-8601)").optional(),
+                                parameterWithName("name").description("이름 앞부분").optional(),
+                                parameterWithName("sort").description("정렬: id,desc(기본) / id,asc / created_at,desc / created_at,asc / name,asc").optional()
+                        )
+                ));
+        assertThat(filter.getValue().getCompleted()).isTrue();
+        assertThat(filter.getValue().getCreatedAfter()).isEqualTo(LocalDateTime.of(2022, 1, 1, 0, 0));
+        assertThat(filter.getValue().getCreatedBefore()).isEqualTo(LocalDateTime.of(2022, 2, 1, 0, 0));
+        assertThat(filter.getValue().getName()).isEqualTo("test");
+    }
+
+    @DisplayName("url_mode=template 이면 항목 url 을 빼고 X-Url-Template 헤더로 템플릿을 내려준다.")
+    @Test
+    void listTodos_urlTemplate() throws Exception {
+        // given
+        given(todoService.getTodos(any(TodoListFilter.class), eq(TodoSort.ID_DESC), eq(0), eq(10), eq(TodoUrlMode.TEMPLATE)))
+                .willReturn(makeFixture(TodoUrlMode.TEMPLATE));
+        given(todoService.getUrlTemplate())
+                .willReturn(TODO_URL.template());
+        given(todoService.getListVersion())
+                .willReturn(makeListVersion(10, LocalDateTime.now()));
+
+        // when
+        ResultActions result = mockMvc.perform(
+                get("/todos")
+                        .param("skip", "0")
+                        .param("limit", "10")
+                        .param("url_mode", "template")
+                        .accept(MediaType.APPLICATION_JSON)
+        );
+        ResultActions byHeader = mockMvc.perform(
+                get("/todos")
+                        .param("skip", "0")
+                        .param("limit", "10")
+                        .header(TodoController.URL_MODE_HEADER, "template")
+                        .accept(MediaType.APPLICATION_JSON)
+        );
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[0].url").doesNotExist())
+                .andExpect(header().string(TodoController.URL_TEMPLATE_HEADER, "http://localhost:8080/todos/{id}"))
+                .andDo(document("todo/get-list-template",
+                        getDocumentRequest(),
+                        getDocumentResponse(),
+                        requestParameters(
+                                parameterWithName("skip").description("skip"),
+                                parameterWithName("limit").description("limit"),
+                                parameterWithName("url_mode").description("inline(기본) / template. X-Url-Mode 헤더로도 지정할 수 있다.")
+                        ),
+                        responseHeaders(
+                                headerWithName(TodoController.URL_TEMPLATE_HEADER).description("항목 url 템플릿. {id} 를 항목 id 로 바꾼다.")
+                        )
+                ));
+        byHeader.andExpect(status().isOk())
+                .andExpect(header().string(TodoController.URL_TEMPLATE_HEADER, "http://localhost:8080/todos/{id}"));
+    }
+
+    @DisplayName("url_mode 가 다르면 목록 ETag 도 다르다.")
+    @Test
+    void listTodos_urlMode_eTag() throws Exception {
+        // given
+        given(todoService.getListVersion())
+                .willReturn(makeListVersion(10, LocalDateTime.now()));
+        String inline = mockMvc.perform(get("/todos").param("skip", "0").param("limit", "10"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        ResultActions result = mockMvc.perform(
+                get("/todos")
+                        .param("skip", "0")
+                        .param("limit", "10")
+                        .param("url_mode", "template")
+                        .header(HttpHeaders.IF_NONE_MATCH, inline)
+        );
+
+        // then
+        result.andExpect(status().isOk());
+        assertThat(result.andReturn().getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(inline);
+    }
+
+    @Test
+    void listTodosAfter() throws Exception {
+        // given
+        String after = TodoCursor.encode(11l);
+        int limit = 10;
+        TodoCursorPageDto response = TodoCursorPageDto.builder()
+                .todos(makeFixture())
+                .nextCursor(TodoCursor.encode(1l))
+                .build();
+        given(todoService.getTodos(after, limit, TodoUrlMode.INLINE))
+                .willReturn(response);
+        given(todoService.getListVersion())
+                .willReturn(makeListVersion(10, LocalDateTime.now()));
+
+        // when
+        ResultActions result = mockMvc.perform(
+                get("/todos")
+                        .param("after", after)
+                        .param("limit", String.valueOf(limit))
+                        .accept(MediaType.APPLICATION_JSON)
+        );
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.next_cursor").value(TodoCursor.encode(1l)))
+                .andExpect(header().string(TodoController.TOTAL_HEADER, "10"))
+                .andDo(document("todo/get-list-cursor",
+                        getDocumentRequest(),
+                        getDocumentResponse(),
+                        requestParameters(
+                                parameterWithName("after").description("이전 페이지의 next_cursor (첫 페이지는 빈 값)"),
+                                parameterWithName("limit").description("limit")
                         )
                 ));
     }
 
+    @Test
+    void exportTodos() throws Exception {
+        // given
+        givenExportFixture();
+
+        // when
+        MvcResult started = mockMvc.perform(
+                get("/todos")
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON)
+        ).andExpect(request().asyncStarted()).andReturn();
+        ResultActions result = mockMvc.perform(asyncDispatch(started));
+
+        // then
+        result.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[0].url").value("http://localhost:8080/todos/10"))
+                .andDo(document("todo/get-list-all",
+                        getDocumentRequest(),
+                        getDocumentResponse()
+                ));
+    }
+
+    @Test
+    void exportTodos_ndjson() throws Exception {
+        // given
+        givenExportFixture();
+
+        // when
+        MvcResult started = mockMvc.perform(
+                get("/todos")
+                        .param("limit", "0")
+                        .accept(TodoController.APPLICATION_NDJSON)
+        ).andExpect(request().asyncStarted()).andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TodoController.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(10);
+        assertThat(objectMapper.readTree(lines[9]).get("id").asLong()).isEqualTo(1l);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenExportFixture() {
+        willAnswer(invocation -> {
+            Consumer<TodoListDto> consumer = invocation.getArgument(1);
+            makeFixture().forEach(consumer);
+            return null;
+        }).given(todoService).exportTodos(eq(TodoUrlMode.INLINE), any(Consumer.class));
+    }
+
+    private ResponseFieldsSnippet batchResponseFields() {
+        return responseFields(
+                fieldWithPath("[].index").type(JsonFieldType.NUMBER).description("요청 목록에서의 위치"),
+                fieldWithPath("[].id").type(JsonFieldType.NUMBER).description("TODO 아이디"),
+                fieldWithPath("[].status").type(JsonFieldType.STRING).description("항목별 처리 결과 상태 코드"),
+                fieldWithPath("[].error").type(JsonFieldType.STRING).optional().description("실패한 경우 에러 메시지"),
+                subsectionWithPath("[].todo").type(JsonFieldType.OBJECT).optional().description("처리된 TODO")
+        );
+    }
+
+    private TodoListVersion makeListVersion(long count, LocalDateTime lastUpdatedAt) {
+        return new TodoListVersion() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public LocalDateTime getLastUpdatedAt() {
+                return lastUpdatedAt;
+            }
+        };
+    }
+
+    private TodoDto makeTodoDto(Long id, String name, boolean completed) {
+        return TodoDto.builder()
+                .id(id)
+                .name(name)
+                .completed(completed)
+                .completedAt(completed ? LocalDateTime.now() : null)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .version(0l)
+                .build();
+    }
+
     private List<TodoListDto> makeFixture() {
+        return makeFixture(TodoUrlMode.INLINE);
+    }
+
+    private List<TodoListDto> makeFixture(TodoUrlMode urlMode) {
         List<TodoListDto> listDtos = new ArrayList<>();
         for (long i = 10; i > 0; i--) {
             TodoListDto response = TodoListDto.builder()
@@ -219,7 +787,7 @@ class TodoControllerTest {
                     .name("test name")
                     .completed(false)
                     .completedAt(null)
-                    .url("http://localhost:8080/todos/" + i)
+                    .url(urlMode == TodoUrlMode.INLINE ? TODO_URL.of(i) : null)
                     .build();
             listDtos.add(response);
         }
@@ -0,0 +1,140 @@
+package com.example.todo.idempotency;
+
+import com.example.todo.dto.TodoDto;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyCacheTest {
+
+    private static final int CLIENTS = 32;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TodoRequest request = new TodoRequest("idempotent", false);
+
+    private IdempotencyCache idempotencyCache;
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(meterRegistry);
+        // 저장소 없이 메모리만 쓴다.
+        idempotencyCache = new IdempotencyCache(new StaticListableBeanFactory().getBeanProvider(IdempotencyStore.class),
+                Duration.ofHours(24), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @DisplayName("같은 키로 동시에 온 생성 요청은 한 번만 생성하고 모두 같은 응답을 받는다.")
+    @Test
+    void 동시_생성_병합() throws Exception {
+        AtomicInteger creates = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        TodoDto todo = TodoDto.builder().id(1l).name("idempotent").completed(false).build();
+
+        List<Future<TodoDto>> results = herd(() -> {
+            creates.incrementAndGet();
+            await(release);
+            return todo;
+        }, release);
+
+        for (Future<TodoDto> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isSameAs(todo);
+        }
+        assertThat(creates).hasValue(1);
+        assertThat(count("created")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(CLIENTS - 1);
+    }
+
+    @DisplayName("생성이 실패하면 기다리던 요청도 같은 예외를 받고, 다음 요청은 다시 생성한다.")
+    @Test
+    void 실패_전파() throws Exception {
+        AtomicInteger creates = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        BusinessException failure = new BusinessException(ErrorCode.SERVICE_UNAVAILABLE);
+
+        List<Future<TodoDto>> results = herd(() -> {
+            creates.incrementAndGet();
+            await(release);
+            throw failure;
+        }, release);
+
+        for (Future<TodoDto> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCause(failure);
+        }
+        assertThat(creates).hasValue(1);
+
+        TodoDto retried = TodoDto.builder().id(2l).name("idempotent").completed(false).build();
+        assertThat(idempotencyCache.execute("client", "key", request, () -> {
+            creates.incrementAndGet();
+            return retried;
+        })).isSameAs(retried);
+        assertThat(creates).hasValue(2);
+    }
+
+    /**
+     * CLIENTS 개 스레드가 같은 키로 생성하고, 나머지가 모두 처음 요청을 기다리기 시작한 뒤 release 를 연다.
+     */
+    private List<Future<TodoDto>> herd(Supplier<TodoDto> create, CountDownLatch release) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<TodoDto>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(executor.submit(() -> idempotencyCache.execute("client", "key", request, create)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (count("coalesced") < CLIENTS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<TodoDto> result : results) {
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException ignored) {
+                    // 결과는 호출한 쪽에서 확인한다.
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private double count(String result) {
+        return meterRegistry.get(IdempotencyCache.METRIC_NAME).tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
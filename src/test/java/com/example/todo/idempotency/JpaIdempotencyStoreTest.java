@@ -0,0 +1,114 @@
+package com.example.todo.idempotency;
+
+import com.example.todo.dto.TodoDto;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.service.TodoService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1",
+        "todo.idempotency.store=jpa"
+})
+class JpaIdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DisplayName("같은 키로 동시에 온 요청은 한 번만 생성하고 모두 같은 응답을 받는다.")
+    @Test
+    void 동시_재시도_병합() throws Exception {
+        TodoRequest request = new TodoRequest("concurrent", false);
+        AtomicInteger creates = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<TodoDto>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return idempotencyCache.execute("client", "concurrent-key", request, () -> {
+                        creates.incrementAndGet();
+                        return todoService.createTodo(request);
+                    });
+                }));
+            }
+            start.countDown();
+            Long id = futures.get(0).get(30, TimeUnit.SECONDS).getId();
+            for (Future<TodoDto> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS).getId()).isEqualTo(id);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(creates).hasValue(1);
+        assertThat(countTodos("concurrent")).isEqualTo(1);
+    }
+
+    @DisplayName("메모리 캐시가 없어도(재시작) 테이블에 남은 처음 응답을 돌려준다.")
+    @Test
+    void 재시작_후_재시도() {
+        TodoRequest request = new TodoRequest("restart", true);
+        TodoDto created = idempotencyCache.execute("client", "restart-key", request, () -> todoService.createTodo(request));
+
+        IdempotencyCache restarted = new IdempotencyCache(
+                applicationContext.getBeanProvider(IdempotencyStore.class), Duration.ofHours(24), 100);
+        TodoDto replayed = restarted.execute("client", "restart-key", request, () -> {
+            throw new AssertionError("must not create again");
+        });
+
+        assertThat(replayed.getId()).isEqualTo(created.getId());
+        assertThat(replayed.getCompleted()).isTrue();
+        // 테이블에는 마이크로초까지 남는다.
+        assertThat(replayed.getCreatedAt()).isCloseTo(created.getCreatedAt(), within(1, ChronoUnit.MILLIS));
+        assertThat(countTodos("restart")).isEqualTo(1);
+    }
+
+    @DisplayName("다른 노드가 같은 키를 먼저 저장했으면 생성을 롤백하고 먼저 저장된 응답을 돌려준다.")
+    @Test
+    void 다른_노드와_경합() {
+        TodoRequest request = new TodoRequest("race", false);
+        String requestHash = IdempotencyCache.fingerprint(request);
+        IdempotentResponse first = idempotencyStore.save("race-key", requestHash, () -> todoService.createTodo(request));
+
+        IdempotentResponse second = idempotencyStore.save("race-key", requestHash, () -> todoService.createTodo(request));
+
+        assertThat(second.getResponse().getId()).isEqualTo(first.getResponse().getId());
+        assertThat(countTodos("race")).isEqualTo(1);
+    }
+
+    private Integer countTodos(String name) {
+        return jdbcTemplate.queryForObject("select count(*) from todo where name = ?", Integer.class, name);
+    }
+}
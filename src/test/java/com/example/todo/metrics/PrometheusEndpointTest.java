@@ -0,0 +1,68 @@
+package com.example.todo.metrics;
+
+import com.example.todo.auth.ApiKeyRegistry;
+import com.example.todo.entity.ApiKey;
+import com.example.todo.repository.ApiKeyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    @DisplayName("요청 후 /actuator/prometheus 에 엔드포인트, 서비스, 리포지토리, 커넥션 풀, SQL 문 수, 2차 캐시 리전, 에러, API 키별 요청 지표가 나온다.")
+    @Test
+    void prometheus_지표() throws Exception {
+        apiKeyRepository.save(ApiKey.of("metrics", ApiKeyRegistry.toHex(ApiKeyRegistry.hash("key"))));
+        mockMvc.perform(post("/todos")
+                        .header("apikey", "key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"metrics\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/todos").param("skip", "0").param("limit", "10"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/todos/{todoId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("todo_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"getTodos\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending{")))
+                .andExpect(content().string(containsString("hibernate_statements_total{")))
+                .andExpect(content().string(containsString("todo_http_statements_count{")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total{")))
+                .andExpect(content().string(containsString("region=\"todo.entity\"")))
+                .andExpect(content().string(containsString("hibernate_cache_query_region_requests_total{")))
+                .andExpect(content().string(containsString("region=\"todo.list\"")))
+                .andExpect(content().string(containsString("uri=\"/todos/{todoId}\"")))
+                .andExpect(content().string(containsString("todo_errors_total{application=\"todo-api\",code=\"NOT_FOUND\",status=\"404\",}")))
+                .andExpect(content().string(containsString("todo_api_key_requests_total{application=\"todo-api\",key=\"metrics\",result=\"accepted\",} 1.0")))
+                .andReturn().getResponse().getContentAsString();
+
+        // 목록 조회는 최소 한 번은 SQL 을 실행한다.
+        assertThat(scrape).containsPattern("todo_http_statements_sum\\{[^}]*method=\"GET\",uri=\"/todos\",} [1-9]");
+    }
+}
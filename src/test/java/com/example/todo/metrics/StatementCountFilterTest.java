@@ -0,0 +1,52 @@
+package com.example.todo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:asyncstatements;DB_CLOSE_DELAY=-1",
+        "todo.execution.mode=async"
+})
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class StatementCountFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("비동기 실행기에서 처리한 요청도 실행한 SQL 문 수를 남긴다.")
+    @Test
+    void 비동기_SQL_문_수() throws Exception {
+        // 전역 레지스트리라 앞선 테스트의 기록이 남아 있을 수 있다.
+        long count = summary().count();
+        double total = summary().totalAmount();
+
+        MvcResult result = mockMvc.perform(get("/todos").param("skip", "0").param("limit", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+
+        assertThat(summary().count()).isEqualTo(count + 1);
+        // 목록 조회는 최소 한 번은 SQL 을 실행한다.
+        assertThat(summary().totalAmount()).isGreaterThanOrEqualTo(total + 1);
+    }
+
+    private DistributionSummary summary() {
+        return Metrics.summary(StatementCountFilter.METRIC_NAME, "method", "GET", "uri", "/todos");
+    }
+}
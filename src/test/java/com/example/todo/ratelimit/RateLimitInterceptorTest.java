@@ -0,0 +1,102 @@
+package com.example.todo.ratelimit;
+
+import com.example.todo.auth.ApiKeyFilter;
+import com.example.todo.auth.ApiKeyRegistry;
+import com.example.todo.entity.ApiKey;
+import com.example.todo.repository.ApiKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ratelimit;DB_CLOSE_DELAY=-1",
+        "todo.rate-limit.enabled=true",
+        "todo.rate-limit.read.rate=1",
+        "todo.rate-limit.read.burst=2",
+        "todo.rate-limit.write.rate=1",
+        "todo.rate-limit.write.burst=1"
+})
+@AutoConfigureMockMvc
+class RateLimitInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApiKeyRepository apiKeyRepository;
+
+    // 한도가 초당 1개이므로, 첫 요청의 초기화 시간 때문에 테스트 도중 토큰이 다시 차지 않게 미리 한 번씩 보낸다.
+    @BeforeEach
+    void warmUp() throws Exception {
+        mockMvc.perform(list(null).with(remoteAddr("192.0.2.1")));
+        mockMvc.perform(create("warm-up").with(remoteAddr("192.0.2.1")));
+    }
+
+    @DisplayName("키마다 쓰기 한도를 넘으면 429 와 Retry-After 로 응답하고, 다른 키와 조회 한도에는 영향이 없다.")
+    @Test
+    void 키별_쓰기_한도() throws Exception {
+        apiKeyRepository.save(ApiKey.of("first", ApiKeyRegistry.toHex(ApiKeyRegistry.hash("first-secret"))));
+        apiKeyRepository.save(ApiKey.of("second", ApiKeyRegistry.toHex(ApiKeyRegistry.hash("second-secret"))));
+
+        mockMvc.perform(create("first-secret"))
+                .andExpect(status().isOk());
+        mockMvc.perform(create("first-secret"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("{\"status\":\"429\",\"error\":\"Too Many Requests\"}", true));
+
+        mockMvc.perform(create("second-secret"))
+                .andExpect(status().isOk());
+        mockMvc.perform(list("first-secret"))
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("키가 없거나 등록되지 않은 키로 조회하면 원격 주소별로 센다.")
+    @Test
+    void 주소별_조회_한도() throws Exception {
+        mockMvc.perform(list(null).with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(list("unknown").with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(list("other-unknown").with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        mockMvc.perform(list(null).with(remoteAddr("10.0.0.2")))
+                .andExpect(status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder create(String apikey) {
+        return post("/todos")
+                .header(ApiKeyFilter.HEADER, apikey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"limited\"}");
+    }
+
+    private MockHttpServletRequestBuilder list(String apikey) {
+        MockHttpServletRequestBuilder request = get("/todos").param("skip", "0").param("limit", "10");
+        return apikey == null ? request : request.header(ApiKeyFilter.HEADER, apikey);
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
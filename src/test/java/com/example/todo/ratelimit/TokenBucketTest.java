@@ -0,0 +1,78 @@
+package com.example.todo.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    @DisplayName("burst 만큼 바로 쓰고, 그 뒤에는 초당 rate 만큼 찬다. 거절하면 다음 토큰까지의 ms 를 준다.")
+    @Test
+    void 버킷_채우기() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+        assertThat(bucket.tryAcquire(0)).isEqualTo(100);
+        assertThat(bucket.tryAcquire(40)).isEqualTo(60);
+        assertThat(bucket.tryAcquire(100)).isZero();
+        assertThat(bucket.tryAcquire(100)).isEqualTo(100);
+
+        // 오래 쉬어도 burst 까지만 찬다.
+        assertThat(bucket.tryAcquire(1_000_000)).isZero();
+        assertThat(bucket.tryAcquire(1_000_000)).isZero();
+        assertThat(bucket.tryAcquire(1_000_000)).isZero();
+        assertThat(bucket.tryAcquire(1_000_000)).isPositive();
+    }
+
+    @DisplayName("늦게 읽은 시각이 먼저 와도 토큰을 되돌리거나 더 주지 않는다.")
+    @Test
+    void 시각_역전() {
+        TokenBucket bucket = new TokenBucket(1, 1, 1000);
+
+        assertThat(bucket.tryAcquire(1000)).isZero();
+        assertThat(bucket.tryAcquire(500)).isEqualTo(1000);
+        assertThat(bucket.tryAcquire(2000)).isZero();
+    }
+
+    @DisplayName("여러 스레드가 동시에 꺼내도 burst 보다 많이 허용하지 않는다.")
+    @Test
+    void 동시_꺼내기() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, 10_000, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int acquired = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        if (bucket.tryAcquire(0) == 0) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+            start.countDown();
+            int acquired = 0;
+            for (Future<Integer> future : futures) {
+                acquired += future.get(30, TimeUnit.SECONDS);
+            }
+            assertThat(acquired).isEqualTo(10_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.todo.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LegacySchemaBaselineTest {
+
+    private JdbcDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:legacy-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @DisplayName("Flyway 이전에 ddl-auto 로 만든 스키마는 V1 로 baseline 하고 이후 마이그레이션을 적용하며, todo_seq 는 기존 id 뒤에서 시작한다.")
+    @Test
+    void 기존_스키마_baseline() throws Exception {
+        // ddl-auto 가 만들던 스키마와 데이터
+        jdbcTemplate.execute("create sequence hibernate_sequence start with 1 increment by 1");
+        jdbcTemplate.execute("create table todo (id bigint not null, completed boolean, completed_at timestamp, "
+                + "created_at timestamp, name varchar(255), updated_at timestamp, primary key (id))");
+        jdbcTemplate.update("insert into todo (id, name, completed, created_at) values (1, 'a', true, current_timestamp), "
+                + "(120, 'b', null, null)");
+
+        migrate();
+
+        assertThat(new TodoIndexVerifier(dataSource).findMissingIndexes()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from todo where completed is null or version <> 0", Long.class))
+                .isZero();
+        // Hibernate(pooled)는 받은 값에서 49 를 뺀 값부터 쓴다.
+        assertThat(jdbcTemplate.queryForObject("select next value for todo_seq", Long.class) - 49).isGreaterThan(120);
+    }
+
+    @DisplayName("빈 스키마는 baseline 없이 V1 부터 적용한다.")
+    @Test
+    void 빈_스키마() throws Exception {
+        migrate();
+
+        assertThat(new TodoIndexVerifier(dataSource).findMissingIndexes()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from \"flyway_schema_history\" where \"type\" = 'BASELINE'", Long.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("select next value for todo_seq", Long.class) - 49).isPositive();
+    }
+
+    // application-prod.yml 의 spring.flyway 설정
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+}
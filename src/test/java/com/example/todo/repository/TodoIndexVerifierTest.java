@@ -0,0 +1,49 @@
+package com.example.todo.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TodoIndexVerifierTest {
+
+    private JdbcDataSource dataSource;
+
+    private TodoIndexVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:index-verifier-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        verifier = new TodoIndexVerifier(dataSource);
+    }
+
+    @DisplayName("마이그레이션을 적용하면 필요한 인덱스가 모두 있다.")
+    @Test
+    void 인덱스_확인() throws Exception {
+        assertThat(verifier.findMissingIndexes()).isEmpty();
+        verifier.run(null);
+    }
+
+    @DisplayName("인덱스가 빠져 있으면 기동을 멈춘다.")
+    @Test
+    void 인덱스_누락() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop index idx_todo_completed_id");
+        }
+
+        assertThat(verifier.findMissingIndexes()).containsExactly(List.of("completed", "id desc"));
+        assertThatThrownBy(() -> verifier.run(null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.todo.response;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorLogSamplerTest {
+
+    @DisplayName("ErrorCode 별로 간격 안의 첫 로그만 허용하고, 건너뛴 수를 다음 로그에 넘긴다.")
+    @Test
+    void 간격_샘플링() throws Exception {
+        ErrorLogSampler sampler = new ErrorLogSampler(Duration.ofMillis(200));
+
+        assertThat(sampler.tryAcquire(ErrorCode.NOT_FOUND)).isZero();
+        assertThat(sampler.tryAcquire(ErrorCode.NOT_FOUND)).isEqualTo(-1);
+        assertThat(sampler.tryAcquire(ErrorCode.NOT_FOUND)).isEqualTo(-1);
+        assertThat(sampler.tryAcquire(ErrorCode.UNAUTHORIZED)).isZero();
+
+        Thread.sleep(250);
+
+        assertThat(sampler.tryAcquire(ErrorCode.NOT_FOUND)).isEqualTo(2);
+        assertThat(sampler.tryAcquire(ErrorCode.NOT_FOUND)).isEqualTo(-1);
+    }
+
+    @DisplayName("간격이 0 이면 동시에 불러도 모두 허용한다.")
+    @Test
+    void 간격_0() throws Exception {
+        ErrorLogSampler sampler = new ErrorLogSampler(Duration.ZERO);
+
+        assertThat(sampler.tryAcquire(ErrorCode.NOT_FOUND)).isZero();
+        assertThat(sampler.tryAcquire(ErrorCode.NOT_FOUND)).isZero();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    long dropped = 0;
+                    for (int j = 0; j < 10_000; j++) {
+                        if (sampler.tryAcquire(ErrorCode.NOT_FOUND) != 0) {
+                            dropped++;
+                        }
+                    }
+                    return dropped;
+                }));
+            }
+            for (Future<Long> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.todo.service;
+
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CLIENTS = 32;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SingleFlight<String, String> flights;
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(meterRegistry);
+        flights = new SingleFlight<>("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @DisplayName("같은 키로 동시에 온 조회는 한 번만 실행하고 모두 같은 결과를 받는다. 끝나면 키를 지운다.")
+    @Test
+    void 동시_조회_병합() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = herd(() -> {
+            loads.incrementAndGet();
+            release.await();
+            return "value";
+        }, release);
+
+        for (Future<String> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("leader")).isEqualTo(1);
+        assertThat(count("follower")).isEqualTo(CLIENTS - 1);
+        assertThat(flights.inFlight()).isZero();
+        assertThat(flights.execute("key", () -> "next")).isEqualTo("next");
+    }
+
+    @DisplayName("실패하면 기다리던 요청도 같은 예외를 받고, 다음 조회는 다시 실행한다.")
+    @Test
+    void 실패_전파() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = herd(() -> {
+            release.await();
+            throw new BusinessException(ErrorCode.NOT_FOUND);
+        }, release);
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(BusinessException.class);
+        }
+        assertThat(flights.inFlight()).isZero();
+        assertThat(flights.execute("key", () -> "retried")).isEqualTo("retried");
+    }
+
+    @DisplayName("forget 뒤에 온 조회는 진행 중인 조회에 합치지 않는다.")
+    @Test
+    void 잊기() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> before = executor.submit(() -> flights.execute("key", () -> {
+                started.countDown();
+                await(release);
+                return "before write";
+            }));
+            started.await(10, TimeUnit.SECONDS);
+
+            flights.forget("key");
+
+            assertThat(flights.execute("key", () -> "after write")).isEqualTo("after write");
+            release.countDown();
+            assertThat(before.get(10, TimeUnit.SECONDS)).isEqualTo("before write");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * CLIENTS 개 스레드가 같은 키로 조회하고, 나머지가 모두 leader 를 기다리기 시작한 뒤 release 를 연다.
+     */
+    private List<Future<String>> herd(LatchedLoader loader, CountDownLatch release) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                results.add(executor.submit(() -> flights.execute("key", () -> {
+                    try {
+                        return loader.load();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (count("follower") < CLIENTS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException ignored) {
+                    // 결과는 호출한 쪽에서 확인한다.
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private double count(String result) {
+        return meterRegistry.get(SingleFlight.METRIC_NAME).tag("name", "test").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface LatchedLoader {
+        String load() throws InterruptedException;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.todo.service;
+
+import com.example.todo.config.CacheConfig;
+import com.example.todo.dto.TodoBatchUpdateRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.entity.Todo;
+import com.example.todo.repository.TodoRepository;
+import com.example.todo.store.JpaTodoStore;
+import com.example.todo.store.TodoCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = {TodoService.class, JpaTodoStore.class, CacheConfig.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class TodoServiceCacheTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private TodoRepository todoRepository;
+
+    @MockBean
+    private TodoCounter todoCounter;
+
+    @MockBean
+    private PlatformTransactionManager transactionManager;
+
+    private final Long testId = 1l;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.TODO_CACHE).clear();
+        Todo todo = Todo.builder()
+                .id(testId)
+                .name("todoName")
+                .completed(false)
+                .build();
+        given(todoRepository.findById(testId)).willReturn(Optional.of(todo));
+    }
+
+    @DisplayName("같은 todo 를 다시 조회하면 캐시에서 돌려준다.")
+    @Test
+    void todo_조회_캐시() {
+        todoService.getTodo(testId);
+        todoService.getTodo(testId);
+
+        verify(todoRepository, times(1)).findById(testId);
+    }
+
+    @DisplayName("수정하면 캐시가 무효화되어 다시 조회한다.")
+    @Test
+    void todo_수정_캐시_무효화() {
+        todoService.getTodo(testId);
+        todoService.updateTodo(testId, new TodoRequest("update", true));
+        todoService.getTodo(testId);
+
+        // 조회 2번 + 수정 1번
+        verify(todoRepository, times(3)).findById(testId);
+    }
+
+    @DisplayName("삭제하면 캐시가 무효화된다.")
+    @Test
+    void todo_삭제_캐시_무효화() {
+        todoService.getTodo(testId);
+        todoService.deleteTodo(testId);
+        todoService.getTodo(testId);
+
+        // 조회 2번 + 삭제 1번
+        verify(todoRepository, times(3)).findById(testId);
+    }
+
+    @DisplayName("일괄 수정하면 캐시가 비워진다.")
+    @Test
+    void todo_일괄_수정_캐시_무효화() {
+        given(todoRepository.findAllById(anySet())).willReturn(List.of());
+
+        todoService.getTodo(testId);
+        todoService.updateTodos(List.of(new TodoBatchUpdateRequest(testId, "update", true)));
+        todoService.getTodo(testId);
+
+        verify(todoRepository, times(2)).findById(testId);
+    }
+}
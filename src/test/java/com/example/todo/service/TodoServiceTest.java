@@ -1,42 +1,75 @@
 package com.example.todo.service;
 
+import com.example.todo.dto.TodoBatchResultDto;
+import com.example.todo.dto.TodoBatchUpdateRequest;
+import com.example.todo.dto.TodoCursor;
+import com.example.todo.dto.TodoCursorPageDto;
 import com.example.todo.dto.TodoDto;
 import com.example.todo.dto.TodoListDto;
+import com.example.todo.dto.TodoListFilter;
+import com.example.todo.dto.TodoPatchRequest;
 import com.example.todo.dto.TodoRequest;
+import com.example.todo.dto.TodoSort;
+import com.example.todo.dto.TodoSummary;
+import com.example.todo.dto.TodoUrlMode;
 import com.example.todo.entity.Todo;
 import com.example.todo.repository.TodoRepository;
 import com.example.todo.response.ErrorCode;
 import com.example.todo.response.exception.BusinessException;
+import com.example.todo.store.JpaTodoStore;
+import com.example.todo.store.TodoCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TodoServiceTest {
 
-    @InjectMocks
     private TodoService todoService;
 
     @Mock
     private TodoRepository todoRepository;
 
+    @Mock
+    private TodoCounter todoCounter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private Todo findTodo;
     private Long testId;
     private TodoRequest request;
 
+    @BeforeEach
+    void setUp() {
+        todoService = new TodoService(new JpaTodoStore(todoRepository, todoCounter, transactionManager));
+    }
+
     @Test
     void todo_조회() {
         // given
@@ -84,6 +117,132 @@ class TodoServiceTest {
         assertThat(updateTodo.getCompletedAt()).isEqualTo(findTodo.getCompletedAt());
     }
 
+    @DisplayName("버전이 같으면 읽은 엔티티를 수정하고 다시 읽지 않는다.")
+    @Test
+    void todo_조건부_수정() {
+        // given
+        testId = 1l;
+        request = new TodoRequest("update", true);
+        given(todoRepository.findById(testId)).willReturn(Optional.of(Todo.builder()
+                .id(testId)
+                .name("before")
+                .completed(false)
+                .version(3l)
+                .build()));
+
+        // when
+        TodoDto updateTodo = todoService.updateTodo(testId, request, 3l);
+
+        // then
+        assertThat(updateTodo.getName()).isEqualTo("update");
+        assertThat(updateTodo.getCompleted()).isTrue();
+        verify(todoRepository, times(1)).findById(testId);
+        verify(todoRepository).flush();
+        verify(todoCounter).add(0, 1);
+    }
+
+    @DisplayName("버전이 다르면 Precondition Failed 에러를 던진다.")
+    @Test
+    void todo_조건부_수정_버전_불일치() {
+        // given
+        testId = 1l;
+        request = new TodoRequest("update", false);
+        given(todoRepository.findById(testId)).willReturn(Optional.of(Todo.builder()
+                .id(testId)
+                .name("before")
+                .version(4l)
+                .build()));
+
+        // when, then
+        assertThatThrownBy(() -> todoService.updateTodo(testId, request, 3l))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.PRECONDITION_FAILED);
+        verify(todoRepository, never()).flush();
+    }
+
+    @DisplayName("읽은 뒤 다른 요청이 먼저 수정했으면 Precondition Failed 에러를 던진다.")
+    @Test
+    void todo_조건부_수정_flush_충돌() {
+        // given
+        testId = 1l;
+        request = new TodoRequest("update", false);
+        given(todoRepository.findById(testId)).willReturn(Optional.of(Todo.builder()
+                .id(testId)
+                .name("before")
+                .version(3l)
+                .build()));
+        willThrow(new ObjectOptimisticLockingFailureException(Todo.class, testId)).given(todoRepository).flush();
+
+        // when, then
+        assertThatThrownBy(() -> todoService.updateTodo(testId, request, 3l))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.PRECONDITION_FAILED);
+    }
+
+    @DisplayName("조건부 수정시 없는 id 이면 Not Found 에러를 던진다.")
+    @Test
+    void todo_조건부_수정_없는_id() {
+        // given
+        request = new TodoRequest("update", false);
+        given(todoRepository.findById(2l)).willReturn(Optional.empty());
+
+        // when, then
+        assertThatThrownBy(() -> todoService.updateTodo(2l, request, 3l))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.NOT_FOUND);
+    }
+
+    @DisplayName("완료 여부만 바꾸는 patch 는 읽은 엔티티의 완료 여부만 바꾸고 완료 개수를 더한다.")
+    @Test
+    void todo_완료_patch() throws Exception {
+        // given
+        testId = 1l;
+        findTodo = new TodoRequest("name", false).toEntity();
+        given(todoRepository.findById(testId)).willReturn(Optional.of(findTodo));
+        TodoPatchRequest patch = TodoPatchRequest.from(objectMapper.readTree("{\"completed\":true}"));
+
+        // when
+        TodoDto result = todoService.patchTodo(testId, patch, null);
+
+        // then
+        assertThat(result.getCompleted()).isTrue();
+        assertThat(result.getCompletedAt()).isNotNull();
+        assertThat(result.getName()).isEqualTo("name");
+        verify(todoCounter).add(0, 1);
+        verify(todoRepository).flush();
+    }
+
+    @DisplayName("이름을 바꾸는 patch 는 이름만 바꾸고 완료 여부는 그대로 둔다.")
+    @Test
+    void todo_이름_patch() throws Exception {
+        // given
+        testId = 1l;
+        findTodo = new TodoRequest("todoName", true).toEntity();
+        given(todoRepository.findById(testId)).willReturn(Optional.of(findTodo));
+        TodoPatchRequest patch = TodoPatchRequest.from(objectMapper.readTree("{\"name\":\"patched\"}"));
+
+        // when
+        TodoDto result = todoService.patchTodo(testId, patch, null);
+
+        // then
+        assertThat(result.getName()).isEqualTo("patched");
+        assertThat(result.getCompleted()).isTrue();
+        verify(todoCounter).add(0, 0);
+    }
+
+    @DisplayName("없는 todo 의 완료 여부를 바꾸면 Not Found 에러를 던진다.")
+    @Test
+    void todo_완료_patch_없는_id() throws Exception {
+        // given
+        TodoPatchRequest patch = TodoPatchRequest.from(objectMapper.readTree("{\"completed\":false}"));
+        given(todoRepository.findById(2l)).willReturn(Optional.empty());
+
+        // when, then
+        assertThatThrownBy(() -> todoService.patchTodo(2l, patch, null))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.NOT_FOUND);
+    }
+
     @Test
     void todo_생성() {
         // given
@@ -100,14 +259,49 @@ class TodoServiceTest {
         assertThat(savedTodo.getCompleted()).isEqualTo(todo.getCompleted());
     }
 
+    @Test
+    @DisplayName("완료 여부 없이 생성하면 미완료 todo 로 만든다.")
+    void todo_생성_완료_여부_없음() {
+        // given
+        request = new TodoRequest("createTodo", null);
+        Todo todo = request.toEntity();
+        given(todoRepository.save(todo)).willReturn(todo);
+
+        // when
+        TodoDto savedTodo = todoService.createTodo(request);
+
+        // then
+        assertThat(savedTodo.getCompleted()).isFalse();
+        assertThat(savedTodo.getCompletedAt()).isNull();
+    }
+
     @Test
     void todo_삭제() {
         // given
         Long todoId = 1l;
+        Todo todo = Todo.builder().id(todoId).build();
+        given(todoRepository.findById(todoId)).willReturn(Optional.of(todo));
         // when
         todoService.deleteTodo(todoId);
         // then
-        verify(todoRepository).deleteById(todoId);
+        verify(todoRepository).delete(todo);
+    }
+
+    @DisplayName("삭제가 버전 충돌로 계속 실패하면 세 번까지만 다시 하고 Conflict 에러를 던진다.")
+    @Test
+    void todo_삭제_충돌_반복() {
+        // given
+        Long todoId = 1l;
+        Todo todo = Todo.builder().id(todoId).build();
+        given(todoRepository.findById(todoId)).willReturn(Optional.of(todo));
+        willThrow(new ObjectOptimisticLockingFailureException(Todo.class, todoId)).given(todoRepository).delete(todo);
+
+        // when, then
+        assertThatThrownBy(() -> todoService.deleteTodo(todoId))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.CONFLICT);
+        verify(todoRepository, times(3)).delete(todo);
+        verify(todoCounter, never()).add(anyLong(), anyLong());
     }
 
     @Test
@@ -116,17 +310,177 @@ class TodoServiceTest {
         List<Todo> todos = makeFixture();
         int limit = 10;
         int offset = 1;
-        Pageable pageable = PageRequest.of(offset, limit, Sort.Direction.DESC, "id");
-        Page<Todo> pageTodo = new PageImpl<>(todos.subList(offset * limit, offset * limit + limit), pageable, 50);
-
-        given(todoRepository.findAll(pageable))
-                .willReturn(pageTodo);
+        given(todoRepository.findPage(any(), eq(TodoSort.ID_DESC.sortFor(TodoListFilter.none())), eq((long) offset * limit), eq(limit)))
+                .willReturn(toSummaries(todos.subList(offset * limit, offset * limit + limit)));
 
         // when
-        List<TodoListDto> list = todoService.getTodos(offset, limit);
+        List<TodoListDto> list = todoService.getTodos(TodoListFilter.none(), TodoSort.ID_DESC, offset, limit, TodoUrlMode.INLINE);
 
         // then
         assertThat(list.size()).isEqualTo(limit);
+        assertThat(list.get(0).getUrl().toString()).isEqualTo("http://localhost:8080/todos/40");
+    }
+
+    @DisplayName("url_mode 가 template 이면 항목에 url 을 넣지 않는다.")
+    @Test
+    void todo_리스트_url_템플릿() {
+        // given
+        List<Todo> todos = makeFixture();
+        given(todoRepository.findPage(any(), any(), eq(0l), eq(10)))
+                .willReturn(toSummaries(todos.subList(0, 10)));
+
+        // when
+        List<TodoListDto> list = todoService.getTodos(TodoListFilter.none(), TodoSort.ID_DESC, 0, 10, TodoUrlMode.TEMPLATE);
+
+        // then
+        assertThat(list).extracting(TodoListDto::getUrl).containsOnlyNulls();
+        assertThat(todoService.getUrlTemplate()).isEqualTo("http://localhost:8080/todos/{id}");
+    }
+
+    @DisplayName("목록 조회시 skip 이 음수이거나 limit 이 0 이하이거나 1000 을 넘거나, skip * limit 이 int 범위를 넘으면 Bad Request 를 던진다.")
+    @Test
+    void todo_리스트_잘못된_페이지() {
+        assertThatThrownBy(() -> todoService.getTodos(TodoListFilter.none(), TodoSort.ID_DESC, -1, 10, TodoUrlMode.INLINE))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.BAD_REQUEST);
+        assertThatThrownBy(() -> todoService.getTodos(TodoListFilter.none(), TodoSort.ID_DESC, 0, 0, TodoUrlMode.INLINE))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.BAD_REQUEST);
+        assertThatThrownBy(() -> todoService.getTodos(TodoListFilter.none(), TodoSort.ID_DESC, 0, 1001, TodoUrlMode.INLINE))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.BAD_REQUEST);
+        assertThatThrownBy(() -> todoService.getTodos(TodoListFilter.none(), TodoSort.ID_DESC, Integer.MAX_VALUE / 10 + 1, 10, TodoUrlMode.INLINE))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.BAD_REQUEST);
+        assertThatThrownBy(() -> todoService.getTodos(null, 0, TodoUrlMode.INLINE))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.BAD_REQUEST);
+        assertThatThrownBy(() -> todoService.getTodos(null, Integer.MAX_VALUE, TodoUrlMode.INLINE))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.BAD_REQUEST);
+        verifyNoInteractions(todoRepository);
+    }
+
+    @DisplayName("커서 이후의 todo 를 조회하고, 다음 페이지가 있으면 next cursor 를 돌려준다.")
+    @Test
+    void todo_커서_리스트_가져오기() {
+        // given
+        List<Todo> todos = makeFixture();
+        int limit = 10;
+        String after = TodoCursor.encode(41l);
+        given(todoRepository.findAllAfter(41l, PageRequest.of(0, limit + 1)))
+                .willReturn(toSummaries(todos.subList(10, 10 + limit + 1)));
+
+        // when
+        TodoCursorPageDto page = todoService.getTodos(after, limit, TodoUrlMode.INLINE);
+
+        // then
+        assertThat(page.getTodos().size()).isEqualTo(limit);
+        assertThat(page.getTodos().get(0).getId()).isEqualTo(40l);
+        assertThat(TodoCursor.decode(page.getNextCursor())).isEqualTo(31l);
+    }
+
+    @DisplayName("마지막 페이지에서는 next cursor 가 없다.")
+    @Test
+    void todo_커서_마지막_페이지() {
+        // given
+        List<Todo> todos = makeFixture();
+        int limit = 10;
+        given(todoRepository.findAllAfter(6l, PageRequest.of(0, limit + 1)))
+                .willReturn(toSummaries(todos.subList(45, 50)));
+
+        // when
+        TodoCursorPageDto page = todoService.getTodos(TodoCursor.encode(6l), limit, TodoUrlMode.INLINE);
+
+        // then
+        assertThat(page.getTodos().size()).isEqualTo(5);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @DisplayName("잘못된 커서는 Bad Request 에러를 던진다.")
+    @Test
+    void todo_커서_잘못된_값() {
+        assertThatThrownBy(() -> todoService.getTodos("not-a-cursor", 10, TodoUrlMode.INLINE))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @DisplayName("전체 목록은 스트림으로 한 건씩 넘긴다.")
+    @Test
+    void todo_전체_스트리밍() {
+        // given
+        List<Todo> todos = makeFixture();
+        given(todoRepository.streamAll()).willReturn(toSummaries(todos).stream());
+        List<TodoListDto> exported = new ArrayList<>();
+
+        // when
+        todoService.exportTodos(TodoUrlMode.INLINE, exported::add);
+
+        // then
+        assertThat(exported.size()).isEqualTo(todos.size());
+        assertThat(exported.get(0).getId()).isEqualTo(50l);
+        verify(todoRepository, never()).count();
+    }
+
+    @DisplayName("여러 todo 를 한 번에 생성하고 항목별 결과를 돌려준다.")
+    @Test
+    void todo_일괄_생성() {
+        // given
+        List<TodoRequest> requests = List.of(new TodoRequest("first", false), new TodoRequest("second", true));
+        given(todoRepository.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<TodoBatchResultDto> results = todoService.createTodos(requests);
+
+        // then
+        assertThat(results).extracting(TodoBatchResultDto::getStatus).containsExactly("201", "201");
+        assertThat(results.get(1).getTodo().getName()).isEqualTo("second");
+        assertThat(results.get(1).getTodo().getCompletedAt()).isNotNull();
+    }
+
+    @DisplayName("일괄 수정시 없는 id 는 항목별로 Not Found 로 표시한다.")
+    @Test
+    void todo_일괄_수정() {
+        // given
+        List<Todo> todos = makeFixture();
+        given(todoRepository.findAllById(Set.of(50l, 999l))).willReturn(List.of(todos.get(0)));
+        List<TodoBatchUpdateRequest> requests = List.of(
+                new TodoBatchUpdateRequest(50l, "update", true),
+                new TodoBatchUpdateRequest(999l, "missing", false));
+
+        // when
+        List<TodoBatchResultDto> results = todoService.updateTodos(requests);
+
+        // then
+        assertThat(results).extracting(TodoBatchResultDto::getStatus).containsExactly("200", "404");
+        assertThat(results.get(0).getTodo().getName()).isEqualTo("update");
+        assertThat(results.get(1).getId()).isEqualTo(999l);
+        verify(todoRepository).flush();
+    }
+
+    @DisplayName("일괄 삭제는 존재하는 todo 만 엔티티로 삭제한다.")
+    @Test
+    void todo_일괄_삭제() {
+        // given
+        List<Long> todoIds = List.of(1l, 2l, 999l);
+        List<Todo> todos = List.of(
+                Todo.builder().id(1l).completed(true).build(),
+                Todo.builder().id(2l).completed(false).build());
+        given(todoRepository.findAllById(todoIds)).willReturn(todos);
+
+        // when
+        List<TodoBatchResultDto> results = todoService.deleteTodos(todoIds);
+
+        // then
+        assertThat(results).extracting(TodoBatchResultDto::getStatus).containsExactly("204", "204", "404");
+        verify(todoRepository).deleteAll(todos);
+        verify(todoCounter).add(-2, -1);
+    }
+
+    @DisplayName("빈 일괄 요청은 Bad Request 에러를 던진다.")
+    @Test
+    void todo_일괄_빈_요청() {
+        assertThatThrownBy(() -> todoService.deleteTodos(List.of()))
+                .isInstanceOf(BusinessException.class);
     }
 
     private List<Todo> makeFixture() {
@@ -140,4 +494,10 @@ class TodoServiceTest {
         }
         return todos;
     }
+
+    private List<TodoSummary> toSummaries(List<Todo> todos) {
+        return todos.stream()
+                .map(todo -> new TodoSummary(todo.getId(), todo.getName(), todo.getCompleted(), todo.getCompletedAt()))
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
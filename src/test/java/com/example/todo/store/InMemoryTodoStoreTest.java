@@ -0,0 +1,248 @@
+package com.example.todo.store;
+
+import com.example.todo.dto.TodoBatchUpdateRequest;
+import com.example.todo.dto.TodoCounts;
+import com.example.todo.dto.TodoListFilter;
+import com.example.todo.dto.TodoListVersion;
+import com.example.todo.dto.TodoPatchRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.dto.TodoSort;
+import com.example.todo.dto.TodoSummary;
+import com.example.todo.entity.Todo;
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryTodoStoreTest {
+
+    private final InMemoryTodoStore store = new InMemoryTodoStore(TodoJournal.NONE);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DisplayName("생성하면 id 를 차례로 붙이고 버전 0 으로 저장한다.")
+    @Test
+    void 생성() {
+        Todo first = store.create(new TodoRequest("first", false));
+        Todo second = store.create(new TodoRequest("second", true));
+
+        assertThat(first.getId()).isEqualTo(1L);
+        assertThat(second.getId()).isEqualTo(2L);
+        assertThat(second.getVersion()).isZero();
+        assertThat(second.getCreatedAt()).isNotNull();
+        assertThat(second.getCompletedAt()).isNotNull();
+        assertThat(store.findById(2L)).contains(second);
+        assertThat(store.getListVersion().getCount()).isEqualTo(2);
+    }
+
+    @DisplayName("수정하면 버전을 올린 새 Todo 로 교체하고, 기존 Todo 는 바꾸지 않는다.")
+    @Test
+    void 수정() {
+        Todo created = store.create(new TodoRequest("todo", false));
+
+        Todo updated = store.update(created.getId(), new TodoRequest("updated", true), 0L);
+
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(updated.getName()).isEqualTo("updated");
+        assertThat(updated.getCompletedAt()).isNotNull();
+        assertThat(updated.getCreatedAt()).isEqualTo(created.getCreatedAt());
+        assertThat(created.getName()).isEqualTo("todo");
+        assertThat(store.findById(created.getId())).contains(updated);
+    }
+
+    @DisplayName("버전이 다르면 Precondition Failed, 없는 id 면 Not Found 를 던진다.")
+    @Test
+    void 수정_실패() {
+        Todo created = store.create(new TodoRequest("todo", false));
+
+        assertThatThrownBy(() -> store.update(created.getId(), new TodoRequest("x", false), 3L))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.PRECONDITION_FAILED);
+        assertThatThrownBy(() -> store.patch(99L, patch("{\"completed\":true}"), null))
+                .isInstanceOf(BusinessException.class)
+                .extracting("errorCode").isEqualTo(ErrorCode.NOT_FOUND);
+    }
+
+    @DisplayName("요청에 있는 필드만 수정한다.")
+    @Test
+    void 부분_수정() {
+        Todo created = store.create(new TodoRequest("todo", false));
+
+        Todo patched = store.patch(created.getId(), patch("{\"completed\":true}"), null);
+
+        assertThat(patched.getName()).isEqualTo("todo");
+        assertThat(patched.getCompleted()).isTrue();
+        assertThat(patched.getVersion()).isEqualTo(1L);
+    }
+
+    @DisplayName("일괄 수정/삭제는 있는 todo 만 처리한다.")
+    @Test
+    void 일괄_처리() {
+        store.createAll(List.of(new TodoRequest("a", false), new TodoRequest("b", false)));
+
+        Map<Long, Todo> updated = store.updateAll(List.of(
+                new TodoBatchUpdateRequest(1L, "a2", true),
+                new TodoBatchUpdateRequest(99L, "x", true)));
+
+        assertThat(updated).containsOnlyKeys(1L);
+        assertThat(store.deleteAll(List.of(2L, 99L))).containsExactly(2L);
+        assertThat(store.getListVersion().getCount()).isEqualTo(1);
+    }
+
+    @DisplayName("삭제하면 목록 버전이 바뀐다.")
+    @Test
+    void 삭제() {
+        Todo created = store.create(new TodoRequest("todo", false));
+        TodoListVersion before = store.getListVersion();
+
+        store.deleteById(created.getId());
+        store.deleteById(created.getId());
+
+        TodoListVersion after = store.getListVersion();
+        assertThat(store.findById(created.getId())).isEmpty();
+        assertThat(after.getCount()).isZero();
+        assertThat(after.getLastUpdatedAt()).isAfterOrEqualTo(before.getLastUpdatedAt());
+        assertThat(after.getSequence()).isEqualTo(before.getSequence() + 1);
+    }
+
+    @DisplayName("목록은 조건으로 거르고 정렬한 뒤 offset 부터 limit 건을 돌려준다.")
+    @Test
+    void 목록() {
+        for (int i = 1; i <= 20; i++) {
+            store.create(new TodoRequest("todo " + (i % 3), i % 2 == 0));
+        }
+
+        assertThat(ids(store.findPage(TodoListFilter.none(), TodoSort.ID_DESC, 2, 3))).containsExactly(18L, 17L, 16L);
+        assertThat(ids(store.findPage(TodoListFilter.builder().completed(true).build(), TodoSort.ID_ASC, 0, 3)))
+                .containsExactly(2L, 4L, 6L);
+        assertThat(ids(store.findPage(TodoListFilter.builder().name("todo 1").build(), TodoSort.CREATED_AT_DESC, 1, 2)))
+                .containsExactly(16L, 13L);
+        assertThat(ids(store.findPage(TodoListFilter.none(), TodoSort.NAME_ASC, 0, 4))).containsExactly(3L, 6L, 9L, 12L);
+        assertThat(store.findPage(TodoListFilter.none(), TodoSort.NAME_ASC, 30, 4)).isEmpty();
+    }
+
+    @DisplayName("커서보다 작은 id 를 역순으로 돌려준다.")
+    @Test
+    void 커서_목록() {
+        for (int i = 0; i < 5; i++) {
+            store.create(new TodoRequest("todo", false));
+        }
+        List<Long> exported = new ArrayList<>();
+        store.forEach(todo -> exported.add(todo.getId()));
+
+        assertThat(ids(store.findAllAfter(4L, 2))).containsExactly(3L, 2L);
+        assertThat(ids(store.findAllAfter(Long.MAX_VALUE, 10))).containsExactly(5L, 4L, 3L, 2L, 1L);
+        assertThat(exported).containsExactly(5L, 4L, 3L, 2L, 1L);
+    }
+
+    @DisplayName("여러 스레드에서 동시에 생성해도 id 가 겹치지 않는다.")
+    @Test
+    void 동시_생성() throws Exception {
+        List<Long> ids = runConcurrently(8, () -> {
+            List<Long> created = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                created.add(store.create(new TodoRequest("todo", false)).getId());
+            }
+            return created;
+        }).stream().flatMap(List::stream).collect(Collectors.toList());
+
+        assertThat(ids).hasSize(8000).doesNotHaveDuplicates();
+        assertThat(store.getListVersion().getCount()).isEqualTo(8000);
+    }
+
+    @DisplayName("같은 버전으로 동시에 수정하면 하나만 성공한다.")
+    @Test
+    void 동시_수정() throws Exception {
+        Long id = store.create(new TodoRequest("todo", false)).getId();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        List<Boolean> results = runConcurrently(8, () -> {
+            try {
+                store.update(id, new TodoRequest("updated", true), 0L);
+                return true;
+            } catch (BusinessException e) {
+                conflicts.incrementAndGet();
+                return false;
+            }
+        });
+
+        assertThat(results).containsOnlyOnce(true);
+        assertThat(conflicts).hasValue(7);
+        assertThat(store.findById(id).get().getVersion()).isEqualTo(1L);
+    }
+
+    @DisplayName("동시에 완료 여부를 바꾸고 지워도 전체/완료 개수가 실제와 같다.")
+    @Test
+    void 동시_개수() throws Exception {
+        store.createAll(List.of(new TodoRequest("a", false), new TodoRequest("b", true), new TodoRequest("c", false)));
+
+        runConcurrently(8, () -> {
+            for (int i = 0; i < 500; i++) {
+                long id = i % 3 + 1;
+                try {
+                    store.patch(id, patch(i % 2 == 0 ? "{\"completed\":true}" : "{\"completed\":false}"), null);
+                } catch (BusinessException e) {
+                    // 다른 스레드가 이미 지운 경우
+                }
+                if (i == 250) {
+                    store.deleteById(3L);
+                }
+            }
+            return null;
+        });
+
+        List<Todo> remaining = List.of(store.findById(1L).get(), store.findById(2L).get());
+        assertThat(store.getCounts()).isEqualTo(new TodoCounts(2,
+                remaining.stream().filter(Todo::getCompleted).count()));
+    }
+
+    private <T> List<T> runConcurrently(int threads, Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TodoPatchRequest patch(String json) {
+        try {
+            return TodoPatchRequest.from(objectMapper.readTree(json));
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private List<Long> ids(List<TodoSummary> todos) {
+        return todos.stream().map(TodoSummary::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.todo.store;
+
+import com.example.todo.config.HibernateCacheConfig;
+import com.example.todo.dto.TodoListFilter;
+import com.example.todo.dto.TodoPatchRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.dto.TodoSort;
+import com.example.todo.dto.TodoSummary;
+import com.example.todo.entity.Todo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:l2cache;DB_CLOSE_DELAY=-1")
+class JpaTodoStoreCacheTest {
+
+    @Autowired
+    private TodoStore todoStore;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @DisplayName("한 번 읽은 todo 는 다음 트랜잭션에서 2차 캐시로 읽는다.")
+    @Test
+    void 단건_조회_캐시() {
+        Long id = todoStore.create(new TodoRequest("cached", false)).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        todoStore.findById(id);
+        todoStore.findById(id);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.TODO_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("삭제하면 지운 todo 만 2차 캐시에서 빠진다.")
+    @Test
+    void 삭제_캐시_무효화() {
+        Long deleted = todoStore.create(new TodoRequest("deleted", false)).getId();
+        Long kept = todoStore.create(new TodoRequest("kept", false)).getId();
+        todoStore.findById(deleted);
+        todoStore.findById(kept);
+
+        todoStore.deleteById(deleted);
+        statistics.clear();
+
+        assertThat(todoStore.findById(kept)).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(todoStore.findById(deleted)).isEmpty();
+        // 없는 id 는 아무것도 하지 않는다.
+        todoStore.deleteById(deleted);
+    }
+
+    @DisplayName("버전을 받은 수정은 2차 캐시에서 읽어 UPDATE 한 번만 보낸다.")
+    @Test
+    void 조건부_수정_쿼리_수() {
+        Todo todo = todoStore.create(new TodoRequest("versioned", false));
+        todoStore.findById(todo.getId());
+        statistics.clear();
+
+        Todo updated = todoStore.update(todo.getId(), new TodoRequest("versioned", true), todo.getVersion());
+
+        assertThat(updated.getVersion()).isEqualTo(todo.getVersion() + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.TODO_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("patch 와 일괄 삭제도 건드린 todo 만 2차 캐시에서 바뀐다.")
+    @Test
+    void 수정_캐시_무효화() throws Exception {
+        Long patched = todoStore.create(new TodoRequest("patched", false)).getId();
+        Long kept = todoStore.create(new TodoRequest("kept", false)).getId();
+        todoStore.findById(patched);
+        todoStore.findById(kept);
+
+        Todo todo = todoStore.patch(patched, TodoPatchRequest.from(new ObjectMapper().readTree("{\"completed\":true}")), null);
+        statistics.clear();
+
+        assertThat(todoStore.findById(kept)).isPresent();
+        assertThat(todoStore.findById(patched)).get().extracting(Todo::getVersion).isEqualTo(todo.getVersion());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        assertThat(todoStore.deleteAll(List.of(patched))).containsExactly(patched);
+        statistics.clear();
+
+        assertThat(todoStore.findById(kept)).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(todoStore.findById(patched)).isEmpty();
+    }
+
+    @DisplayName("첫 페이지와 목록 버전은 쿼리 캐시로 읽고, todo 가 바뀌면 다시 읽는다.")
+    @Test
+    void 목록_쿼리_캐시() {
+        todoStore.create(new TodoRequest("first", false));
+        statistics.clear();
+
+        todoStore.findPage(TodoListFilter.none(), TodoSort.ID_DESC, 0, 10);
+        todoStore.findAllAfter(Long.MAX_VALUE, 11);
+        long count = todoStore.getListVersion().getCount();
+        todoStore.findPage(TodoListFilter.none(), TodoSort.ID_DESC, 0, 10);
+        todoStore.findAllAfter(Long.MAX_VALUE, 11);
+        todoStore.getListVersion();
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        Todo created = todoStore.create(new TodoRequest("second", false));
+
+        List<TodoSummary> page = todoStore.findPage(TodoListFilter.none(), TodoSort.ID_DESC, 0, 10);
+        assertThat(page.get(0).getId()).isEqualTo(created.getId());
+        assertThat(todoStore.findAllAfter(Long.MAX_VALUE, 11).get(0).getId()).isEqualTo(created.getId());
+        assertThat(todoStore.getListVersion().getCount()).isEqualTo(count + 1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(3);
+    }
+}
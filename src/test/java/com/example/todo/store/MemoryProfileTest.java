@@ -0,0 +1,52 @@
+package com.example.todo.store;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// apikey "key" 의 SHA-256
+@SpringBootTest(properties = "todo.api-key.keys.test=2c70e12b7a0646f92279f427c7b38e7334d8e5389cff167a1dc30e73f826b683")
+@AutoConfigureMockMvc
+@ActiveProfiles("memory")
+class MemoryProfileTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("memory 프로필은 DB 없이 메모리 저장소로 뜬다.")
+    @Test
+    void 메모리_저장소() throws Exception {
+        assertThat(context.getBean(TodoStore.class)).isInstanceOf(InMemoryTodoStore.class);
+        assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+
+        mockMvc.perform(post("/todos")
+                        .header("apikey", "key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"memory\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+        mockMvc.perform(get("/todos/{todoId}", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("memory"));
+        mockMvc.perform(get("/todos").param("skip", "0").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("memory"));
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.todo.store;
+
+import com.example.todo.dto.TodoBatchUpdateRequest;
+import com.example.todo.dto.TodoCounts;
+import com.example.todo.dto.TodoListVersion;
+import com.example.todo.dto.TodoPatchRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.entity.Todo;
+import com.example.todo.repository.TodoRepository;
+import com.example.todo.response.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:counts;DB_CLOSE_DELAY=-1",
+        "todo.count.reconcile-interval=0"
+})
+class TodoCounterTest {
+
+    @Autowired
+    private TodoStore todoStore;
+
+    @Autowired
+    private TodoCounter todoCounter;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DisplayName("쓰기마다 개수를 유지하고, 저장소를 거치지 않은 쓰기로 생긴 차이는 다시 세어 맞춘다.")
+    @Test
+    void 개수_유지_및_보정() throws Exception {
+        Todo first = todoStore.create(new TodoRequest("first", false));
+        Todo second = todoStore.create(new TodoRequest("second", true));
+        todoStore.patch(first.getId(), patch("{\"completed\":true}"), null);
+        todoStore.patch(first.getId(), patch("{\"completed\":true}"), null);
+        todoStore.update(second.getId(), new TodoRequest("second", false), second.getVersion());
+        todoStore.updateAll(List.of(new TodoBatchUpdateRequest(second.getId(), "second", true)));
+        todoStore.deleteAll(List.of(first.getId()));
+        assertThat(todoStore.getCounts()).isEqualTo(todoRepository.countTotals());
+
+        jdbcTemplate.update("insert into todo (id, name, completed) values (next value for todo_seq, 'raw', true)");
+        TodoCounts drifted = todoStore.getCounts();
+
+        TodoCounts reconciled = todoCounter.reconcile();
+
+        assertThat(reconciled).isEqualTo(drifted.plus(1, 1));
+        assertThat(todoStore.getCounts()).isEqualTo(todoRepository.countTotals());
+    }
+
+    @DisplayName("여러 스레드가 동시에 생성/완료/수정/삭제해도 개수가 DB 와 같다.")
+    @Test
+    void 동시_쓰기_개수() throws Exception {
+        List<Long> ids = todoStore.createAll(List.of(
+                        new TodoRequest("a", false), new TodoRequest("b", true), new TodoRequest("c", false),
+                        new TodoRequest("d", true), new TodoRequest("e", false)))
+                .stream()
+                .map(Todo::getId)
+                .collect(Collectors.toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        write(ids);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(todoStore.getCounts()).isEqualTo(todoRepository.countTotals());
+    }
+
+    @DisplayName("같은 todo 를 동시에 지워도 모두 성공하고 개수는 한 번만 줄어든다.")
+    @Test
+    void 동시_삭제() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 20; round++) {
+                Todo todo = todoStore.create(new TodoRequest("delete " + round, round % 2 == 0));
+                TodoCounts before = todoStore.getCounts();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        todoStore.deleteById(todo.getId());
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+
+                assertThat(todoStore.findById(todo.getId())).isEmpty();
+                assertThat(todoStore.getCounts()).isEqualTo(before.plus(-1, -TodoCounts.completed(todo.getCompleted())));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(todoStore.getCounts()).isEqualTo(todoRepository.countTotals());
+    }
+
+    @DisplayName("수정 시각이 더 이른 쓰기가 늦게 커밋되어도 목록 버전이 바뀐다.")
+    @Test
+    void 늦게_커밋된_수정() throws Exception {
+        Todo early = todoStore.create(new TodoRequest("early", false));
+        Todo late = todoStore.create(new TodoRequest("late", false));
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> earlyCommit = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                todoStore.update(early.getId(), new TodoRequest("early", true), early.getVersion());
+                updated.countDown();
+                try {
+                    commit.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            updated.await(10, TimeUnit.SECONDS);
+            Thread.sleep(2);
+            todoStore.update(late.getId(), new TodoRequest("late", true), late.getVersion());
+            TodoListVersion before = todoStore.getListVersion();
+
+            commit.countDown();
+            earlyCommit.get(10, TimeUnit.SECONDS);
+
+            TodoListVersion after = todoStore.getListVersion();
+            // 개수와 마지막 수정 시각만으로는 알 수 없다.
+            assertThat(after.getCount()).isEqualTo(before.getCount());
+            assertThat(after.getLastUpdatedAt()).isEqualTo(before.getLastUpdatedAt());
+            assertThat(after.getSequence()).isGreaterThan(before.getSequence());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void write(List<Long> ids) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long id = ids.get(random.nextInt(ids.size()));
+        boolean completed = random.nextBoolean();
+        try {
+            switch (random.nextInt(6)) {
+                case 0:
+                    todoStore.create(new TodoRequest("new", completed));
+                    break;
+                case 1:
+                    todoStore.patch(id, patch("{\"completed\":" + completed + "}"), null);
+                    break;
+                case 2:
+                    Long version = todoStore.findById(id).map(Todo::getVersion).orElse(0L);
+                    todoStore.update(id, new TodoRequest("updated", completed), version);
+                    break;
+                case 3:
+                    todoStore.update(id, new TodoRequest("updated", completed));
+                    break;
+                case 4:
+                    todoStore.deleteById(id);
+                    break;
+                default:
+                    todoStore.deleteAll(List.of(id));
+                    break;
+            }
+        } catch (BusinessException | ConcurrencyFailureException e) {
+            // 없는 id, 버전 충돌, 잠금 대기 시간 초과는 롤백되므로 개수도 바뀌지 않아야 한다.
+        }
+    }
+
+    private TodoPatchRequest patch(String json) throws Exception {
+        return TodoPatchRequest.from(objectMapper.readTree(json));
+    }
+}
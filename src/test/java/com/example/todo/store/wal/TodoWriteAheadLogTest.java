@@ -0,0 +1,189 @@
+package com.example.todo.store.wal;
+
+import com.example.todo.dto.TodoPatchRequest;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.entity.Todo;
+import com.example.todo.store.InMemoryTodoStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoWriteAheadLogTest {
+
+    private static final long SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private final List<TodoWriteAheadLog> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(TodoWriteAheadLog::close);
+    }
+
+    @DisplayName("재시작하면 생성/수정/삭제한 상태와 발급한 id 를 복구한다.")
+    @Test
+    void 복구() {
+        InMemoryTodoStore store = open(FsyncPolicy.ALWAYS);
+        Todo first = store.create(new TodoRequest("first", false));
+        Todo second = store.create(new TodoRequest("second", false));
+        Todo third = store.create(new TodoRequest("third", true));
+        store.update(first.getId(), new TodoRequest("first-updated", true), 0L);
+        store.deleteById(third.getId());
+        restart();
+
+        InMemoryTodoStore recovered = open(FsyncPolicy.ALWAYS);
+
+        assertThat(recovered.findById(first.getId())).hasValueSatisfying(todo -> {
+            assertThat(todo.getName()).isEqualTo("first-updated");
+            assertThat(todo.getCompleted()).isTrue();
+            assertThat(todo.getVersion()).isEqualTo(1L);
+        });
+        assertThat(recovered.findById(second.getId())).contains(second);
+        assertThat(recovered.findById(third.getId())).isEmpty();
+        assertThat(recovered.getListVersion().getCount()).isEqualTo(2);
+        // 지운 id 를 다시 쓰지 않는다.
+        assertThat(recovered.create(new TodoRequest("fourth", false)).getId()).isEqualTo(4L);
+    }
+
+    @DisplayName("스냅샷 이후의 기록만 다시 적용하고, 스냅샷에 들어간 세그먼트는 지운다.")
+    @Test
+    void 스냅샷() throws Exception {
+        TodoWriteAheadLog wal = wal(FsyncPolicy.NONE);
+        InMemoryTodoStore store = new InMemoryTodoStore(wal);
+        for (int i = 0; i < 2000; i++) {
+            store.create(new TodoRequest("todo " + i, false));
+        }
+        assertThat(files(TodoWriteAheadLog.SEGMENT_PREFIX)).hasSizeGreaterThan(1);
+
+        wal.checkpoint();
+        store.patch(1L, TodoPatchRequest.from(new ObjectMapper().readTree("{\"completed\":true}")), null);
+        store.deleteById(2L);
+        restart();
+
+        assertThat(files(TodoSnapshots.PREFIX)).hasSize(1);
+        assertThat(files(TodoWriteAheadLog.SEGMENT_PREFIX)).hasSize(1);
+        InMemoryTodoStore recovered = open(FsyncPolicy.NONE);
+        assertThat(recovered.getListVersion().getCount()).isEqualTo(1999);
+        assertThat(recovered.findById(1L).get().getCompleted()).isTrue();
+        assertThat(recovered.findById(2L)).isEmpty();
+        assertThat(recovered.findById(2000L).get().getName()).isEqualTo("todo 1999");
+    }
+
+    @DisplayName("끝이 깨진 기록은 버리고 그 앞까지 복구한다.")
+    @Test
+    void 깨진_기록() throws Exception {
+        InMemoryTodoStore store = open(FsyncPolicy.ALWAYS);
+        store.create(new TodoRequest("kept", false));
+        store.create(new TodoRequest("torn", false));
+        restart();
+        Path segment = files(TodoWriteAheadLog.SEGMENT_PREFIX).get(0);
+        long torn = lastRecordPosition(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), torn + 20);
+        }
+
+        InMemoryTodoStore recovered = open(FsyncPolicy.ALWAYS);
+
+        assertThat(recovered.findById(1L)).isPresent();
+        assertThat(recovered.findById(2L)).isEmpty();
+        // 깨진 기록 뒤가 아니라 새 세그먼트에 이어 쓴다.
+        recovered.create(new TodoRequest("next", false));
+        restart();
+        assertThat(open(FsyncPolicy.ALWAYS).getListVersion().getCount()).isEqualTo(2);
+    }
+
+    @DisplayName("기록 없이 여러 번 재시작해도 열린다.")
+    @Test
+    void 빈_재시작() {
+        open(FsyncPolicy.INTERVAL).create(new TodoRequest("todo", false));
+        restart();
+        open(FsyncPolicy.INTERVAL);
+        restart();
+        open(FsyncPolicy.INTERVAL);
+        restart();
+
+        assertThat(open(FsyncPolicy.INTERVAL).findById(1L)).isPresent();
+    }
+
+    @DisplayName("여러 스레드의 쓰기를 fsync 로 묶어도 모두 기록된다.")
+    @Test
+    void 동시_쓰기() throws Exception {
+        InMemoryTodoStore store = open(FsyncPolicy.ALWAYS);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        Todo todo = store.create(new TodoRequest("todo", false));
+                        store.update(todo.getId(), new TodoRequest("updated", true));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        restart();
+
+        InMemoryTodoStore recovered = open(FsyncPolicy.ALWAYS);
+        assertThat(recovered.getListVersion().getCount()).isEqualTo(1600);
+        assertThat(recovered.findById(1600L).get().getVersion()).isEqualTo(1L);
+    }
+
+    private InMemoryTodoStore open(FsyncPolicy fsyncPolicy) {
+        return new InMemoryTodoStore(wal(fsyncPolicy));
+    }
+
+    private TodoWriteAheadLog wal(FsyncPolicy fsyncPolicy) {
+        TodoWriteAheadLog wal = new TodoWriteAheadLog(directory, fsyncPolicy, SEGMENT_SIZE, Duration.ofMillis(10), Duration.ZERO);
+        opened.add(wal);
+        return wal;
+    }
+
+    private void restart() {
+        opened.forEach(TodoWriteAheadLog::close);
+        opened.clear();
+    }
+
+    private List<Path> files(String prefix) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private long lastRecordPosition(Path segment) throws Exception {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        long last = 0;
+        while (buffer.getInt(buffer.position()) != 0) {
+            last = buffer.position();
+            buffer.position(buffer.position() + 8 + buffer.getInt(buffer.position()));
+        }
+        return last;
+    }
+}
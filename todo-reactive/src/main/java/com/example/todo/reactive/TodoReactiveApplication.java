@@ -0,0 +1,19 @@
+package com.example.todo.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+
+/**
+ * WebFlux + R2DBC 로 같은 /todos API 를 제공하는 논블로킹 배포 옵션.
+ * DTO, ErrorCode, BusinessException 은 MVC + JPA 애플리케이션과 공유한다.
+ */
+@EnableR2dbcAuditing
+@SpringBootApplication
+public class TodoReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(TodoReactiveApplication.class, args);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.example.todo.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * todo.seed-rows 가 있으면 시작할 때 todo 를 그만큼 넣어둔다. 부하 테스트(loadTest -Pload.target=...)로
+ * MVC 와 비교할 때 양쪽이 같은 데이터(id 1..seed-rows)를 갖게 하기 위한 것이다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty("todo.seed-rows")
+public class TodoSeedRunner implements ApplicationRunner {
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${todo.seed-rows}")
+    private int rows;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        databaseClient.sql("insert into todo (name, completed, completed_at, created_at, updated_at, version) "
+                        + "select 'todo ' || x, mod(x, 2) = 0, case when mod(x, 2) = 0 then localtimestamp end, "
+                        + "localtimestamp, localtimestamp, 0 from system_range(1, :rows)")
+                .bind("rows", rows)
+                .then()
+                .block();
+    }
+}
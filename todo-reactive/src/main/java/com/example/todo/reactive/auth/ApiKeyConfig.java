@@ -0,0 +1,34 @@
+package com.example.todo.reactive.auth;
+
+import com.example.todo.auth.ApiKeyRegistry;
+import com.example.todo.auth.ConfiguredApiKeyStore;
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.ErrorResponseBodies;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * 루트의 ApiKeyRegistry 를 그대로 쓴다. api_key 테이블이 없으므로 키는 memory 저장소처럼
+ * todo.api-key.keys.&lt;이름&gt;=&lt;SHA-256 hex&gt; 설정에서 읽는다.
+ */
+@Configuration
+public class ApiKeyConfig {
+
+    @Bean
+    public ApiKeyRegistry apiKeyRegistry(Environment environment,
+                                         @Value("${todo.api-key.cache.ttl:5m}") Duration ttl,
+                                         @Value("${todo.api-key.cache.negative-ttl:30s}") Duration negativeTtl,
+                                         @Value("${todo.api-key.cache.max-size:10000}") long maxSize) {
+        return new ApiKeyRegistry(new ConfiguredApiKeyStore(environment), ttl, negativeTtl, maxSize);
+    }
+
+    @Bean
+    public ApiKeyWebFilter apiKeyWebFilter(ApiKeyRegistry apiKeyRegistry, ObjectMapper objectMapper) {
+        return new ApiKeyWebFilter(apiKeyRegistry, new ErrorResponseBodies(objectMapper).bodyOf(ErrorCode.UNAUTHORIZED));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todo.reactive.auth;
+
+import com.example.todo.auth.ApiKeyFilter;
+import com.example.todo.auth.ApiKeyRegistry;
+import com.example.todo.response.ErrorCode;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * MVC 쪽 ApiKeyFilter 와 같다. 쓰기 요청(POST/PUT/PATCH/DELETE)은 apikey 헤더가 등록된 키일 때만 넘기고, 조회는 키 없이 허용한다.
+ * 컨트롤러 밖이라 ReactiveExceptionHandler 를 거치지 않으므로 401 본문은 여기서 직접 쓴다.
+ */
+public class ApiKeyWebFilter implements WebFilter {
+
+    private final ApiKeyRegistry apiKeyRegistry;
+    private final byte[] unauthorizedBody;
+
+    public ApiKeyWebFilter(ApiKeyRegistry apiKeyRegistry, byte[] unauthorizedBody) {
+        this.apiKeyRegistry = apiKeyRegistry;
+        this.unauthorizedBody = unauthorizedBody;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        HttpMethod method = exchange.getRequest().getMethod();
+        if (method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
+            return chain.filter(exchange);
+        }
+        // 키는 설정에서 읽어 메모리에 두므로 확인은 블로킹하지 않는다.
+        String apikey = exchange.getRequest().getHeaders().getFirst(ApiKeyFilter.HEADER);
+        Optional<String> name = apikey == null || apikey.isEmpty() ? Optional.empty() : apiKeyRegistry.authenticate(apikey);
+        if (name.isEmpty()) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.valueOf(ErrorCode.UNAUTHORIZED.getStatus()));
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(unauthorizedBody.length);
+            return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(unauthorizedBody)));
+        }
+        exchange.getAttributes().put(ApiKeyFilter.KEY_NAME_ATTRIBUTE, name.get());
+        return chain.filter(exchange);
+    }
+}
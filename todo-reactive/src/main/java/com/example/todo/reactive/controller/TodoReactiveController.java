@@ -0,0 +1,70 @@
+package com.example.todo.reactive.controller;
+
+import com.example.todo.dto.TodoCursorPageDto;
+import com.example.todo.dto.TodoDto;
+import com.example.todo.dto.TodoListDto;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.reactive.service.TodoReactiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 쓰기 요청의 apikey 확인은 ApiKeyWebFilter 가 한다.
+ */
+@RestController
+@RequestMapping("/todos")
+@RequiredArgsConstructor
+public class TodoReactiveController {
+
+    private final TodoReactiveService todoService;
+
+    @GetMapping("/{todoId}")
+    public Mono<TodoDto> getTodo(@PathVariable Long todoId) {
+        return todoService.getTodo(todoId);
+    }
+
+    @PutMapping("/{todoId}")
+    public Mono<TodoDto> updateTodo(@PathVariable Long todoId, @RequestBody TodoRequest request) {
+        return todoService.updateTodo(todoId, request);
+    }
+
+    @DeleteMapping("/{todoId}")
+    public Mono<Void> deleteTodo(@PathVariable Long todoId) {
+        return todoService.deleteTodo(todoId);
+    }
+
+    @PostMapping
+    public Mono<TodoDto> createTodo(@RequestBody TodoRequest request) {
+        return todoService.createTodo(request);
+    }
+
+    @GetMapping
+    public Flux<TodoListDto> listTodos(@RequestParam("skip") int skip, @RequestParam("limit") int limit) {
+        return todoService.getTodos(skip, limit);
+    }
+
+    @GetMapping(params = "after")
+    public Mono<TodoCursorPageDto> listTodosAfter(@RequestParam("after") String after, @RequestParam("limit") int limit) {
+        return todoService.getTodos(after, limit);
+    }
+
+    /**
+     * limit=0 은 전체 목록 요청이다. Accept 가 application/x-ndjson 이면 한 줄에 한 건씩,
+     * 아니면 JSON 배열로 쓰며, 클라이언트가 읽는 속도만큼만 DB 에서 읽는다.
+     */
+    @GetMapping(params = {"limit=0", "!after"}, produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<TodoListDto> exportTodos() {
+        return todoService.exportTodos();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.todo.reactive.entity;
+
+import com.example.todo.dto.TodoDto;
+import com.example.todo.dto.TodoListDto;
+import com.example.todo.dto.TodoRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * todo 테이블의 R2DBC 매핑. JPA 의 {@code Todo} 와 같은 컬럼과 수정 규칙을 따른다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("todo")
+public class TodoRecord {
+    @Id
+    private Long id;
+
+    private String name;
+
+    private Boolean completed;
+
+    private LocalDateTime completedAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    public static TodoRecord from(TodoRequest request) {
+        return TodoRecord.builder()
+                .name(request.getName())
+                .completed(Boolean.TRUE.equals(request.getCompleted()))
+                .completedAt(Boolean.TRUE.equals(request.getCompleted()) ? LocalDateTime.now() : null)
+                .build();
+    }
+
+    public void update(TodoRequest updatedTodo) {
+        this.name = updatedTodo.getName();
+        this.completed = Boolean.TRUE.equals(updatedTodo.getCompleted());
+        if (completed) {
+            completedAt = LocalDateTime.now();
+        }
+    }
+
+    public TodoDto toDto() {
+        return TodoDto.builder()
+                .id(id)
+                .name(name)
+                .completed(completed)
+                .completedAt(completedAt)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .version(version)
+                .build();
+    }
+
+    public TodoListDto toListDto(String url) {
+        return TodoListDto.builder()
+                .id(id)
+                .name(name)
+                .completed(Boolean.TRUE.equals(completed))
+                .completedAt(completedAt)
+                .url(url)
+                .build();
+    }
+}
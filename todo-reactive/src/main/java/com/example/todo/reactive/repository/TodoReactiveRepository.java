@@ -0,0 +1,24 @@
+package com.example.todo.reactive.repository;
+
+import com.example.todo.reactive.entity.TodoRecord;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * JPA 의 TodoRepository 에 대응하는 R2DBC 리포지토리.
+ */
+public interface TodoReactiveRepository extends ReactiveCrudRepository<TodoRecord, Long> {
+
+    @Query("select * from todo order by id desc limit :limit offset :offset")
+    Flux<TodoRecord> findPage(long offset, int limit);
+
+    @Query("select * from todo where id < :cursor order by id desc limit :limit")
+    Flux<TodoRecord> findAllAfter(long cursor, int limit);
+
+    /**
+     * 전체 목록을 한 번에 모으지 않고 구독자의 요청(demand)만큼 읽어 내려보낸다.
+     */
+    @Query("select * from todo order by id desc")
+    Flux<TodoRecord> streamAll();
+}
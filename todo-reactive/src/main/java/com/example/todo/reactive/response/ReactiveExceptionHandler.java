@@ -0,0 +1,49 @@
+package com.example.todo.reactive.response;
+
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.ErrorResponse;
+import com.example.todo.response.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * MVC 쪽 GlobalExceptionHandler 와 같은 ErrorCode 매핑을 WebFlux 에 적용한다.
+ */
+@Slf4j
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler({BusinessException.class})
+    protected ResponseEntity<ErrorResponse> handleBusinessException(BusinessException exception) {
+        log.warn(exception.getMessage());
+        return toResponse(exception.getErrorCode());
+    }
+
+    // 필수 파라미터 누락, 타입 불일치, 잘못된 본문
+    @ExceptionHandler({ServerWebInputException.class})
+    protected ResponseEntity<ErrorResponse> handleBadRequestException(ServerWebInputException exception) {
+        log.warn(exception.getMessage());
+        return toResponse(ErrorCode.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({OptimisticLockingFailureException.class})
+    protected ResponseEntity<ErrorResponse> handleConflictException(OptimisticLockingFailureException exception) {
+        log.warn(exception.getMessage());
+        return toResponse(ErrorCode.CONFLICT);
+    }
+
+    @ExceptionHandler({Exception.class})
+    protected ResponseEntity<ErrorResponse> handleException(Exception exception) {
+        log.warn(exception.getMessage());
+        return toResponse(ErrorCode.INTERNAL_SERVER_ERROR);
+    }
+
+    private ResponseEntity<ErrorResponse> toResponse(ErrorCode errorCode) {
+        return new ResponseEntity<>(new ErrorResponse(errorCode), HttpStatus.valueOf(errorCode.getStatus()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.todo.reactive.service;
+
+import com.example.todo.dto.TodoCursor;
+import com.example.todo.dto.TodoCursorPageDto;
+import com.example.todo.dto.TodoDto;
+import com.example.todo.dto.TodoListDto;
+import com.example.todo.dto.TodoPaging;
+import com.example.todo.dto.TodoRequest;
+import com.example.todo.reactive.entity.TodoRecord;
+import com.example.todo.reactive.repository.TodoReactiveRepository;
+import com.example.todo.response.ErrorCode;
+import com.example.todo.response.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TodoReactiveService {
+
+    private final TodoReactiveRepository todoRepository;
+
+    @Value("${todoUrl:http://localhost:8081/todos/}")
+    private String baseUrl;
+
+    public Mono<TodoDto> getTodo(Long todoId) {
+        return findTodo(todoId).map(TodoRecord::toDto);
+    }
+
+    @Transactional
+    public Mono<TodoDto> updateTodo(Long todoId, TodoRequest request) {
+        return findTodo(todoId)
+                .flatMap(todo -> {
+                    todo.update(request);
+                    return todoRepository.save(todo);
+                })
+                .map(TodoRecord::toDto);
+    }
+
+    public Mono<Void> deleteTodo(Long todoId) {
+        return todoRepository.deleteById(todoId);
+    }
+
+    public Mono<TodoDto> createTodo(TodoRequest request) {
+        return todoRepository.save(TodoRecord.from(request)).map(TodoRecord::toDto);
+    }
+
+    public Flux<TodoListDto> getTodos(int skip, int limit) {
+        // MVC 쪽과 같이 skip 은 페이지 번호이고 같은 한도를 둔다.
+        return Mono.fromCallable(() -> TodoPaging.offset(skip, limit))
+                .flatMapMany(offset -> todoRepository.findPage(offset, limit))
+                .map(this::toListDto);
+    }
+
+    public Mono<TodoCursorPageDto> getTodos(String after, int limit) {
+        // 다음 페이지 존재 여부를 알기 위해 하나 더 조회한다.
+        return Mono.fromCallable(() -> {
+                    TodoPaging.checkLimit(limit);
+                    return TodoCursor.decode(after);
+                })
+                .flatMapMany(cursor -> todoRepository.findAllAfter(cursor, limit + 1))
+                .map(this::toListDto)
+                .collectList()
+                .map(todos -> toCursorPage(todos, limit));
+    }
+
+    public Flux<TodoListDto> exportTodos() {
+        return todoRepository.streamAll().map(this::toListDto);
+    }
+
+    private Mono<TodoRecord> findTodo(Long todoId) {
+        return todoRepository.findById(todoId)
+                .switchIfEmpty(Mono.error(() -> new BusinessException(ErrorCode.NOT_FOUND)));
+    }
+
+    private TodoListDto toListDto(TodoRecord todo) {
+        return todo.toListDto(baseUrl + todo.getId());
+    }
+
+    private TodoCursorPageDto toCursorPage(List<TodoListDto> todos, int limit) {
+        boolean hasNext = todos.size() > limit;
+        List<TodoListDto> page = hasNext ? todos.subList(0, limit) : todos;
+        return TodoCursorPageDto.builder()
+                .todos(page)
+                .nextCursor(hasNext ? TodoCursor.encode(page.get(page.size() - 1).getId()) : null)
+                .build();
+    }
+}
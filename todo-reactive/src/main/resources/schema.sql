@@ -0,0 +1,10 @@
+create table if not exists todo (
+    id           bigint auto_increment primary key,
+    name         varchar(255),
+    completed    boolean,
+    completed_at timestamp,
+    created_at   timestamp,
+    updated_at   timestamp,
+    version      bigint
+);
+create index if not exists idx_todo_updated_at on todo (updated_at);
@@ -0,0 +1,170 @@
+package com.example.todo.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-test;DB_CLOSE_DELAY=-1",
+        "todo.seed-rows=30",
+        // SHA-256("key")
+        "todo.api-key.keys.test=2c70e12b7a0646f92279f427c7b38e7334d8e5389cff167a1dc30e73f826b683"})
+@AutoConfigureWebTestClient
+class TodoReactiveApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DisplayName("todo 를 생성하고 수정한 뒤 조회한다.")
+    @Test
+    void todo_생성_수정_조회() {
+        JsonNode created = webTestClient.post().uri("/todos")
+                .header("apikey", "key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"reactive\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+        long todoId = created.get("id").asLong();
+        assertThat(created.get("completed").asBoolean()).isFalse();
+
+        webTestClient.put().uri("/todos/{todoId}", todoId)
+                .header("apikey", "key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"updated\",\"completed\":true}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("updated")
+                .jsonPath("$.completed_at").isNotEmpty();
+
+        webTestClient.get().uri("/todos/{todoId}", todoId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(todoId)
+                .jsonPath("$.completed").isEqualTo(true);
+    }
+
+    @DisplayName("없는 아이디를 조회하면 ErrorCode 와 같은 404 응답을 준다.")
+    @Test
+    void todo_조회_404() {
+        webTestClient.get().uri("/todos/{todoId}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("404")
+                .jsonPath("$.error").isEqualTo("Not Found");
+    }
+
+    @DisplayName("apikey 가 없거나 등록되지 않은 키이면 401 응답을 준다.")
+    @Test
+    void todo_생성_401() {
+        webTestClient.post().uri("/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"reactive\"}")
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        webTestClient.post().uri("/todos")
+                .header("apikey", "unknown")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"reactive\"}")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("401");
+
+        webTestClient.delete().uri("/todos/{todoId}", 1)
+                .header("apikey", "unknown")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @DisplayName("목록은 id 역순으로 skip(페이지)/limit 만큼, 커서는 다음 커서와 함께 돌려준다.")
+    @Test
+    void todo_목록() {
+        webTestClient.get().uri("/todos?skip=1&limit=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(5);
+
+        webTestClient.get().uri("/todos?after=&limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.todos.length()").isEqualTo(2)
+                .jsonPath("$.next_cursor").isNotEmpty();
+
+        webTestClient.get().uri("/todos?after=!!&limit=2")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @DisplayName("MVC 쪽과 같이 limit 이 1000 을 넘거나 offset 이 int 범위를 넘으면 400 응답을 준다.")
+    @Test
+    void todo_목록_400() {
+        webTestClient.get().uri("/todos?skip=0&limit=1001")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/todos?skip=" + Integer.MAX_VALUE + "&limit=1000")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri("/todos?after=&limit=1001")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @DisplayName("완료 여부 없이 수정하면 미완료로 저장한다.")
+    @Test
+    void todo_수정_완료_여부_없음() {
+        long todoId = webTestClient.post().uri("/todos")
+                .header("apikey", "key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"reactive\",\"completed\":true}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody()
+                .get("id").asLong();
+
+        webTestClient.put().uri("/todos/{todoId}", todoId)
+                .header("apikey", "key")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"updated\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.completed").isEqualTo(false);
+    }
+
+    @DisplayName("limit=0 은 전체 목록을 ndjson 으로 한 건씩 흘려보낸다.")
+    @Test
+    void todo_전체_스트리밍() {
+        Flux<JsonNode> todos = webTestClient.get().uri("/todos?skip=0&limit=0")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(JsonNode.class)
+                .getResponseBody();
+
+        // 앞의 몇 건만 받고 취소해도 된다.
+        StepVerifier.create(todos, 3)
+                .expectNextMatches(todo -> todo.hasNonNull("url"))
+                .expectNextCount(2)
+                .thenCancel()
+                .verify();
+    }
+}